@@ -0,0 +1,112 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import dictionary.DictionaryStore;
+import dictionary.DurabilityMode;
+import dictionary.PersistenceSettings;
+import server.RecordLog;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/***
+ * Deterministic dictionaries for the benchmarks, written as CSV files in the working directory.
+ */
+final class BenchmarkData {
+
+    private static final int LETTERS = 26;
+
+    private BenchmarkData() {
+    }
+
+    /***
+     * @return the i-th word of every generated dictionary; distinct indexes always give distinct words
+     */
+    static String word(int i) {
+        // Scrambling the index with an odd multiplier is a bijection on 32 bits, so words stay distinct
+        long value = Integer.toUnsignedLong(i * 0x9E3779B1);
+        StringBuilder word = new StringBuilder(8);
+        do {
+            word.append((char) ('a' + value % LETTERS));
+            value /= LETTERS;
+        } while (value > 0);
+        return word.toString();
+    }
+
+    /***
+     * @return the semicolon-separated definitions of the i-th word
+     */
+    static String definitions(int i) {
+        return "the meaning of entry " + i + " in plain words;another sense of entry " + i;
+    }
+
+    /***
+     * Writes the CSV dictionary of the first words, unless it was already written by an earlier run.
+     *
+     * @param words the number of words in the dictionary
+     * @return the name of the CSV file in the working directory
+     * @throws IOException if the file cannot be written
+     */
+    static String csv(int words) throws IOException {
+        String fileName = "dictionary-" + words + ".csv";
+        File file = new File(System.getProperty("user.dir") + File.separator + fileName);
+        if (file.length() > 0) {
+            return fileName;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(temp))) {
+            for (int i = 0; i < words; i++) {
+                out.write(word(i));
+                out.write(',');
+                out.write(definitions(i));
+                out.write('\n');
+            }
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Cannot write " + fileName);
+        }
+        return fileName;
+    }
+
+    /***
+     * @return a record log writing nowhere, so that the benchmarks measure the engine rather than logging
+     */
+    static RecordLog quietLog() {
+        return new RecordLog("", RecordLog.DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /***
+     * Opens a store over a dictionary file, starting from an empty mutation log, and never compacting it
+     * so that the dictionary file is left untouched for the next runs.
+     *
+     * @param recordLog the log of the store's activity
+     * @param fileName the CSV dictionary file in the working directory
+     * @param durability how far each mutation is pushed towards the disk before it completes
+     * @return the opened store
+     * @throws IOException if the store cannot be opened
+     */
+    static DictionaryStore openStore(RecordLog recordLog, String fileName, DurabilityMode durability)
+            throws IOException {
+        deleteLogs(fileName);
+        PersistenceSettings settings = new PersistenceSettings();
+        settings.setCompactionThreshold(Long.MAX_VALUE);
+        settings.setDurabilityMode(durability);
+        return new DictionaryStore(recordLog, fileName, settings);
+    }
+
+    /***
+     * Deletes the mutation logs a store left next to its dictionary file.
+     */
+    static void deleteLogs(String fileName) {
+        String root = System.getProperty("user.dir") + File.separator;
+        new File(root + fileName + ".log").delete();
+        new File(root + fileName + ".log.old").delete();
+    }
+}
@@ -0,0 +1,69 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import org.openjdk.jmh.runner.NoBenchmarksException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/***
+ * Runs the benchmarks with the JMH command line options given, e.g. "Csv -p words=10000 -f 1".
+ *
+ * Unless a thread count is given with -t, the store throughput benchmarks are run once at each of
+ * 1, 4, 16 and 64 threads, and every other benchmark on a single thread.
+ */
+public class BenchmarkSuite {
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    private static final String SWEPT_BENCHMARKS = StoreThroughputBenchmark.class.getName();
+
+    public static void main(String[] args) throws Exception {
+
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp()) {
+            options.showHelp();
+            return;
+        }
+        if (options.shouldList()) {
+            new Runner(options).list();
+            return;
+        }
+        if (options.getThreads().hasValue()) {
+            new Runner(options).run();
+            return;
+        }
+
+        run(new OptionsBuilder()
+                .parent(options)
+                .exclude(SWEPT_BENCHMARKS)
+                .threads(1)
+                .build());
+
+        for (int threads : THREAD_COUNTS) {
+            run(new OptionsBuilder()
+                    .parent(options)
+                    .exclude("^(?!" + SWEPT_BENCHMARKS.replace(".", "\\.") + ").*")
+                    .threads(threads)
+                    .build());
+        }
+    }
+
+    /***
+     * Runs the benchmarks selected by the options, if the benchmarks given on the command line include any.
+     */
+    private static void run(Options options) throws RunnerException {
+        try {
+            new Runner(options).run();
+        } catch (NoBenchmarksException e) {
+            // The benchmarks given on the command line are all run in the other pass
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import dictionary.CsvImporter;
+import dictionary.DictionaryStore;
+import dictionary.DurabilityMode;
+import org.openjdk.jmh.annotations.*;
+import server.RecordLog;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Time taken to load a CSV dictionary into memory and to write it back, as done when the server starts
+ * and when the mutation log is compacted. The CSV file is loaded both sequentially and with the parallel
+ * importer the server uses when it has no snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int words;
+
+    private RecordLog recordLog;
+    private DictionaryStore store;
+    private String csvFile;
+    private String outputFile;
+    private HashMap<String, List<String>> dictionary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvFile = BenchmarkData.csv(words);
+        outputFile = "written-" + words + ".csv";
+        recordLog = BenchmarkData.quietLog();
+        // The store itself is empty; only its CSV reading and writing are measured
+        store = BenchmarkData.openStore(recordLog, "empty.csv", DurabilityMode.BUFFERED);
+        dictionary = store.readCSVToHashMap(csvFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+        BenchmarkData.deleteLogs("empty.csv");
+        recordLog.close();
+    }
+
+    @Benchmark
+    public HashMap<String, List<String>> readCSVToHashMap() {
+        return store.readCSVToHashMap(csvFile);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> importCsv() throws IOException {
+        return new CsvImporter(csvFile).load();
+    }
+
+    @Benchmark
+    public boolean writeHashMapToCsv() {
+        return store.writeHashMapToCsv(dictionary, outputFile);
+    }
+}
@@ -0,0 +1,92 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import dictionary.DictionaryStore;
+import dictionary.DurabilityMode;
+import metrics.ServerMetrics;
+import org.openjdk.jmh.annotations.*;
+import protocol.TextReply;
+import protocol.TextRequest;
+import server.RecordLog;
+import thread.DictionaryRequestHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Latency of prefix lookups (type-ahead suggestions) over a large dictionary, sampled so that JMH reports its
+ * percentiles (p50 to p99.99) rather than only the mean.
+ *
+ * Every lookup takes the prefix of a random existing word, so short prefixes match many words and are cut off at
+ * the limit, while long ones match only a few. The prefix benchmark asks the store's prefix index alone, and the
+ * prefixCommand benchmark carries out a whole prefix command with the first definition of every word found.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrefixBenchmark {
+
+    @Param({"1000000"})
+    public int words;
+
+    @Param({"1", "3", "5"})
+    public int prefixLength;
+
+    @Param({"10"})
+    public int limit;
+
+    private RecordLog recordLog;
+    private DictionaryStore store;
+    private DictionaryRequestHandler handler;
+    private String csvFile;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final TextRequest request = new TextRequest();
+    private final TextReply reply = new TextReply();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvFile = BenchmarkData.csv(words);
+        recordLog = BenchmarkData.quietLog();
+        store = BenchmarkData.openStore(recordLog, csvFile, DurabilityMode.BUFFERED);
+        handler = new DictionaryRequestHandler(recordLog, store, new ServerMetrics());
+        // Waits for the prefix index to be built in the background
+        store.wordsStartingWith("", 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+        BenchmarkData.deleteLogs(csvFile);
+        recordLog.close();
+    }
+
+    private String randomPrefix() {
+        String word = BenchmarkData.word(random.nextInt(words));
+        return word.substring(0, Math.min(prefixLength, word.length()));
+    }
+
+    @Benchmark
+    public List<String> prefix() {
+        return store.wordsStartingWith(randomPrefix(), limit);
+    }
+
+    @Benchmark
+    public int prefixCommand() throws IOException {
+        byte[] line = ("prefix>" + randomPrefix() + ">" + limit + ">def").getBytes(StandardCharsets.UTF_8);
+        request.parse(line, 0, line.length);
+        handler.handle(0, request, reply);
+        return reply.length();
+    }
+}
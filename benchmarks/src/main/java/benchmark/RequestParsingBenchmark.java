@@ -0,0 +1,116 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import dictionary.DictionaryStore;
+import dictionary.DurabilityMode;
+import metrics.ServerMetrics;
+import org.openjdk.jmh.annotations.*;
+import protocol.TextReply;
+import protocol.TextRequest;
+import server.RecordLog;
+import thread.DictionaryRequestHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Time taken by the request handler to parse a text protocol request line, carry it out and format its reply,
+ * for requests that do not mutate the dictionary, so that parsing and formatting dominate.
+ * Run with -prof gc to see the bytes allocated per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestParsingBenchmark {
+
+    private static final int WORDS = 10000;
+
+    private RecordLog recordLog;
+    private DictionaryStore store;
+    private String csvFile;
+    private DictionaryRequestHandler handler;
+    private DictionaryRequestHandler uncachedHandler;
+
+    private final TextRequest request = new TextRequest();
+    private final TextReply reply = new TextReply();
+
+    private byte[] searchLine;
+    private byte[] missLine;
+    private byte[] addExistingLine;
+    private byte[] batchSearchLine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvFile = BenchmarkData.csv(WORDS);
+        recordLog = BenchmarkData.quietLog();
+        store = BenchmarkData.openStore(recordLog, csvFile, DurabilityMode.BUFFERED);
+        handler = new DictionaryRequestHandler(recordLog, store, new ServerMetrics(),
+                                               DictionaryRequestHandler.DEFAULT_REPLY_CACHE_BYTES);
+        uncachedHandler = new DictionaryRequestHandler(recordLog, store, new ServerMetrics(), 0);
+
+        searchLine = bytes("search>" + BenchmarkData.word(42) + ">x");
+        missLine = bytes("search>nosuchword>x");
+        addExistingLine = bytes("add>" + BenchmarkData.word(7) + ">" + BenchmarkData.definitions(7));
+
+        StringBuilder batch = new StringBuilder("msearch");
+        for (int i = 0; i < 10; i++) {
+            batch.append('>').append(BenchmarkData.word(i * 31));
+        }
+        batchSearchLine = bytes(batch.toString());
+    }
+
+    private static byte[] bytes(String line) {
+        return line.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int handle(byte[] line) throws IOException {
+        return handle(handler, line);
+    }
+
+    private int handle(DictionaryRequestHandler handler, byte[] line) throws IOException {
+        request.parse(line, 0, line.length);
+        handler.handle(0, request, reply);
+        return reply.length();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+        BenchmarkData.deleteLogs(csvFile);
+        recordLog.close();
+    }
+
+    @Benchmark
+    public int search() throws IOException {
+        return handle(searchLine);
+    }
+
+    @Benchmark
+    public int searchUncached() throws IOException {
+        return handle(uncachedHandler, searchLine);
+    }
+
+    @Benchmark
+    public int searchMiss() throws IOException {
+        return handle(missLine);
+    }
+
+    @Benchmark
+    public int addExisting() throws IOException {
+        return handle(addExistingLine);
+    }
+
+    @Benchmark
+    public int batchSearch() throws IOException {
+        return handle(batchSearchLine);
+    }
+}
@@ -0,0 +1,67 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import dictionary.DictionarySnapshot;
+import dictionary.DictionaryStore;
+import dictionary.DurabilityMode;
+import org.openjdk.jmh.annotations.*;
+import server.RecordLog;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Time taken to load the binary snapshot of a dictionary, as done when the server restarts, to map it, as done
+ * when it restarts in disk storage mode, and to write it, as done on every compaction. Compare with CsvBenchmark
+ * for the same dictionaries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"10000", "1000000", "5000000"})
+    public int words;
+
+    private DictionarySnapshot snapshot;
+    private Map<String, List<String>> dictionary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String csvFile = BenchmarkData.csv(words);
+        RecordLog recordLog = BenchmarkData.quietLog();
+        DictionaryStore store = BenchmarkData.openStore(recordLog, "empty.csv", DurabilityMode.BUFFERED);
+        dictionary = store.readCSVToHashMap(csvFile);
+        store.close();
+        BenchmarkData.deleteLogs("empty.csv");
+        recordLog.close();
+
+        snapshot = new DictionarySnapshot(csvFile);
+        snapshot.write(dictionary);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> load() throws IOException {
+        return snapshot.load();
+    }
+
+    @Benchmark
+    public Map<String, List<String>> map() throws IOException {
+        return snapshot.map();
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        return snapshot.write(dictionary);
+    }
+}
@@ -0,0 +1,121 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import dictionary.DictionaryStore;
+import dictionary.DurabilityMode;
+import org.openjdk.jmh.annotations.*;
+import server.RecordLog;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * Throughput of the dictionary store's operations, shared by every benchmark thread like the store is shared
+ * by every client connection. BenchmarkSuite runs it at 1, 4, 16 and 64 threads.
+ *
+ * Mutations are group-committed as in the server; the durability mode defaults to buffered so that the engine,
+ * rather than the disk, is measured, and can be changed with -p durability=sync.
+ * The delete benchmark adds a fresh word and deletes it, keeping the dictionary's size steady.
+ * The searchMissing benchmark looks up words that are not in the dictionary, most of them rejected by its filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreThroughputBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int words;
+
+    @Param({"buffered"})
+    public String durability;
+
+    private RecordLog recordLog;
+    private DictionaryStore store;
+    private String csvFile;
+
+    private final AtomicInteger threads = new AtomicInteger();
+
+    /***
+     * Per-thread source of random existing words, and of fresh words no other thread adds.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private SplittableRandom random;
+        private String freshPrefix;
+        private int fresh;
+
+        @Setup(Level.Trial)
+        public void setUp(StoreThroughputBenchmark benchmark) {
+            int thread = benchmark.threads.getAndIncrement();
+            random = new SplittableRandom(thread);
+            freshPrefix = "fresh" + thread + "x";
+        }
+
+        String existingWord(int words) {
+            return BenchmarkData.word(random.nextInt(words));
+        }
+
+        String missingWord(int words) {
+            return "missing" + random.nextInt(words);
+        }
+
+        String freshWord() {
+            return freshPrefix + (fresh++);
+        }
+    }
+
+    private static final List<String> DEFINITIONS = Arrays.asList("a new meaning", "another one");
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvFile = BenchmarkData.csv(words);
+        recordLog = BenchmarkData.quietLog();
+        store = BenchmarkData.openStore(recordLog, csvFile, DurabilityMode.fromOption(durability));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+        BenchmarkData.deleteLogs(csvFile);
+        recordLog.close();
+    }
+
+    @Benchmark
+    public List<String> search(ThreadState state) {
+        return store.search(state.existingWord(words));
+    }
+
+    @Benchmark
+    public List<String> searchMissing(ThreadState state) {
+        return store.search(state.missingWord(words));
+    }
+
+    @Benchmark
+    public boolean add(ThreadState state) throws IOException {
+        return store.add(state.freshWord(), DEFINITIONS);
+    }
+
+    @Benchmark
+    public boolean update(ThreadState state) throws IOException {
+        return store.update(state.existingWord(words), DEFINITIONS);
+    }
+
+    @Benchmark
+    public boolean delete(ThreadState state) throws IOException {
+        String word = state.freshWord();
+        store.add(word, DEFINITIONS);
+        return store.delete(word);
+    }
+}
@@ -0,0 +1,91 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package benchmark;
+
+import dictionary.Definitions;
+import org.openjdk.jmh.annotations.*;
+import protocol.TextReply;
+import protocol.TextRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Cost of turning a text protocol request line into the word and definitions it carries, and of encoding
+ * a search reply, without the dictionary itself. Run with -prof gc to compare the bytes allocated per request.
+ *
+ * The legacy benchmarks repeat what the server did before requests were parsed in place: decoding the line
+ * into a String, splitting it with a regular expression, lower-casing the word, splitting the definitions,
+ * joining the found definitions with a stream, and encoding the reply String. The cached search answers with
+ * the reply the dictionary keeps encoded with a word's definitions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextProtocolBenchmark {
+
+    private static final String[] COMMANDS = {"search", "add", "update", "delete"};
+
+    private final TextRequest request = new TextRequest();
+    private final TextReply reply = new TextReply();
+
+    private final byte[] searchLine = "search>serendipity>x".getBytes(StandardCharsets.UTF_8);
+    private final byte[] addLine =
+            "add>serendipity>the faculty of making fortunate discoveries by accident;a pleasant surprise"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> found = Arrays.asList("the faculty of making fortunate discoveries by accident",
+                                                     "a pleasant surprise", "luck that takes the form of finding");
+    private final Definitions stored = Definitions.of(found);
+
+    @Benchmark
+    public int legacySearch() {
+        List<String> tokens = Arrays.asList(new String(searchLine, StandardCharsets.UTF_8).split(">"));
+        String word = tokens.get(1).toLowerCase();
+        String definitions = found.stream().reduce((d1, d2) -> d1 + ";" + d2).get();
+        return (definitions + "\n").getBytes(StandardCharsets.UTF_8).length + word.length() + tokens.size();
+    }
+
+    @Benchmark
+    public int search() {
+        request.parse(searchLine, 0, searchLine.length);
+        String word = request.word(1);
+        reply.clear();
+        reply.appendJoined(found, ';').append('\n');
+        return reply.length() + word.length() + request.match(0, COMMANDS).length();
+    }
+
+    @Benchmark
+    public int cachedSearch() {
+        request.parse(searchLine, 0, searchLine.length);
+        String word = request.word(1);
+        reply.clear();
+        reply.share(stored.searchReply());
+        return reply.length() + word.length() + request.match(0, COMMANDS).length();
+    }
+
+    @Benchmark
+    public int legacyAdd() {
+        List<String> tokens = Arrays.asList(new String(addLine, StandardCharsets.UTF_8).split(">"));
+        String word = tokens.get(1).toLowerCase();
+        List<String> definitions = Arrays.asList(tokens.get(2).split(";"));
+        return word.length() + definitions.size() + tokens.size();
+    }
+
+    @Benchmark
+    public int add() {
+        request.parse(addLine, 0, addLine.length);
+        String word = request.word(1);
+        List<String> definitions = request.definitions(2);
+        return word.length() + definitions.size() + request.match(0, COMMANDS).length();
+    }
+}
@@ -10,11 +10,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.*;
+import java.io.IOException;
 import java.net.ConnectException;
-import java.net.Socket;
 import java.net.UnknownHostException;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -37,6 +35,8 @@ public class DictionaryClient extends JFrame {
     private JTextField addUpdateTextField;
     private JLabel searchDeleteErrorLabel;
 
+    private final DictionaryConnection connection;
+
     private static final String ADD_COMMAND = "add";
     private static final String SEARCH_COMMAND = "search";
     private static final String UPDATE_COMMAND = "update";
@@ -44,10 +44,10 @@ public class DictionaryClient extends JFrame {
 
     private static final String MESSAGE_CARET = " > ";
     private static final String SEMICOLON_DELIMITER = ";";
-    private static final String MESSAGE_DELIMITER = ">";
 
     private static final String HOST_OPTION = "-h";
     private static final String PORT_OPTION = "-p";
+    private static final String BINARY_OPTION = "-b";
 
     private static final String DEFAULT_HOST = "localhost";
     private static final int DEFAULT_PORT = 3000;
@@ -60,10 +60,14 @@ public class DictionaryClient extends JFrame {
      * @param title The title of the Client GUI
      * @param host The remote host for the client socket
      * @param port The local port for the client socket
+     * @param binary true to talk to the server with the binary protocol instead of the text protocol
      */
-    public DictionaryClient (String title, String host, int port) {
+    public DictionaryClient (String title, String host, int port, boolean binary) {
         super(title);
 
+        // A single long-lived connection to the server is shared by every command
+        connection = new DictionaryConnection(host, port, binary);
+
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setContentPane(mainPanel);
         pack();
@@ -72,10 +76,10 @@ public class DictionaryClient extends JFrame {
                                            "Separate multiple definitions with semicolons (;).");
 
         // Each command button invokes the corresponding command method when clicked
-        addButton.addActionListener(e -> addWord(host, port));
-        searchButton.addActionListener(e -> searchWord(host, port));
-        updateButton.addActionListener(e -> updateWord(host, port));
-        deleteButton.addActionListener(e -> deleteWord(host, port));
+        addButton.addActionListener(e -> addWord());
+        searchButton.addActionListener(e -> searchWord());
+        updateButton.addActionListener(e -> updateWord());
+        deleteButton.addActionListener(e -> deleteWord());
 
         // Clears the error messages when another tab is clicked
         tabs.addChangeListener(e -> {
@@ -93,6 +97,7 @@ public class DictionaryClient extends JFrame {
                         "Would you like to exit the application?", "Confirm Exit",
                         JOptionPane.YES_NO_OPTION);
                 if (n == 0) {
+                    connection.close();
                     System.exit(0);
                 }
             }
@@ -109,6 +114,7 @@ public class DictionaryClient extends JFrame {
 
         int port = DEFAULT_PORT;
         String host = DEFAULT_HOST;
+        boolean binary = false;
 
         // Parsing the argument options for the client host and port for the client socket
 
@@ -126,6 +132,9 @@ public class DictionaryClient extends JFrame {
                         if (it.hasNext()) port = Integer.parseInt(it.next());
                         if (port < MIN_PORT_NUM || port > MAX_PORT_NUM) port = DEFAULT_PORT;
                         break;
+                    case BINARY_OPTION:
+                        binary = true;
+                        break;
                     default:
                         break;
                 }
@@ -136,9 +145,9 @@ public class DictionaryClient extends JFrame {
         }
 
         // Initialise and launch the Client GUI
-        // The client host and port are part of the constructor since the values will be used in the
-        // add, search, update, and delete methods to create a socket for the request.
-        DictionaryClient client = new DictionaryClient("Multi-threaded Dictionary Client", host, port);
+        // The client host and port are part of the constructor since the values will be used to open
+        // the connection shared by the add, search, update, and delete methods.
+        DictionaryClient client = new DictionaryClient("Multi-threaded Dictionary Client", host, port, binary);
         client.setVisible(true);
         client.setResizable(false);
         client.setSize(600, 420);
@@ -148,80 +157,26 @@ public class DictionaryClient extends JFrame {
 
     }
 
-    // **** Methods for sending and receiving information through Socket I/O Stream **** //
-
-    /**
-     * Uses the given socket to send out a message to the connected server.
-     * @param socket Socket to serve as gateway of communication channel
-     * @param message String message to send
-     * @return true if message was sent out, false otherwise.
-     */
-    public boolean outputSocketStream(Socket socket, String message) {
-        BufferedWriter out;
-        try  {
-            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
-            out.write(message);
-            out.flush();
-            return true;
-        }
-        catch (IOException e) {
-            return false;
-        }
-    }
-
-    /**
-     * Uses the given socket to receive a message to the connected server.
-     * @param socket Socket to serve as gateway of communication channel
-     * @return true if message received, false otherwise.
-     */
-    public String inputSocketStream(Socket socket) {
-        BufferedReader in;
-        try  {
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
-            String result = in.readLine();
-            return result;
-        }
-        catch (IOException e) {
-            return null;
-        }
-    }
-
     // **** Methods for dictionary commands **** //
 
     /***
      * Client method that attempts to add a word and its definitions to the dictionary in the server.
      * Ensures that the word and its definitions are both non-empty.
-     * Creates a temporary socket for sending the command, word, and its definitions to the server.
-     * If the sending operation is successful, then it attempts to receive the response from the server.
-     *
-     * @param host The host of the client socket
-     * @param port The port of the client socket
+     * Sends the command, word, and its definitions to the server over the client's connection,
+     * then waits for the response from the server.
      */
-    public void addWord(String host, int port) {
+    public void addWord() {
 
         if (!addUpdateTextField.getText().equals("")) {
 
             if (!addUpdateTextArea.getText().equals("")) {
 
-                try (Socket socket = new Socket(host, port)) {
-
-                    List<String> messageList = Arrays.asList(new String[]{ADD_COMMAND,
-                                                                            addUpdateTextField.getText(),
-                                                                            addUpdateTextArea.getText()});
-                    String message = messageList.stream()
-                                                .reduce((message1, message2) -> message1 +
-                                                        MESSAGE_DELIMITER + message2).get() + "\n";
+                try {
 
-                    if (outputSocketStream(socket, message)) {
-                        String result = inputSocketStream(socket);
+                    String result = connection.request(ADD_COMMAND, addUpdateTextField.getText(),
+                                                       addUpdateTextArea.getText());
+                    addUpdateErrorLabel.setText(result);
 
-                        if (result != null) {
-                            addUpdateErrorLabel.setText(result);
-                        } else {
-                            System.out.println("Error adding new word.");
-                        }
-
-                    }
                 } catch(ConnectException e){
                     handleConnectException();
                 } catch(UnknownHostException e){
@@ -243,45 +198,26 @@ public class DictionaryClient extends JFrame {
     /***
      * Client method that attempts to search for a word's definitions from the dictionary in the server.
      * Ensures that the to-be-searched word is non-empty.
-     * Creates a temporary socket for sending the command and the word to the server.
-     * If the sending operation is successful, then it attempts to receive the response from the server.
-     *
-     * @param host The host of the client socket
-     * @param port The port of the client socket
+     * Sends the command and the word to the server over the client's connection,
+     * then waits for the response from the server.
      */
-    public void searchWord(String host, int port) {
+    public void searchWord() {
 
         if (!searchDeleteTextField.getText().equals("")) {
 
-            try (Socket socket = new Socket(host, port)){
+            try {
 
-                List<String> messageList = Arrays.asList(new String[]{SEARCH_COMMAND,
-                                                                        searchDeleteTextField.getText(), " "});
-                String message = messageList.stream()
-                                            .reduce((message1, message2) -> message1 +
-                                                    MESSAGE_DELIMITER + message2).get() + "\n";
-
-                if (outputSocketStream(socket, message)) {
-
-                    String result = inputSocketStream(socket);
-
-                    if (result != null) {
-
-                        if (result.equals("Word does not exist.")) {
-                            searchDeleteErrorLabel.setText(result);
-                        } else {
-                            List<String> definitions = Arrays.asList(result.split(SEMICOLON_DELIMITER));
-                            String text = definitions.stream()
-                                                    .map(definition -> MESSAGE_CARET + definition)
-                                                    .reduce((definition1, definition2) -> definition1 + "\n" +
-                                                                                        definition2).get();
-                            searchResultsTextArea.setText(text);
-                        }
-
-                    } else {
-                        System.out.println("Error searching for existing word.");
-                    }
+                String result = connection.request(SEARCH_COMMAND, searchDeleteTextField.getText(), " ");
 
+                if (result.equals("Word does not exist.")) {
+                    searchDeleteErrorLabel.setText(result);
+                } else {
+                    List<String> definitions = Arrays.asList(result.split(SEMICOLON_DELIMITER));
+                    String text = definitions.stream()
+                                            .map(definition -> MESSAGE_CARET + definition)
+                                            .reduce((definition1, definition2) -> definition1 + "\n" +
+                                                                                definition2).get();
+                    searchResultsTextArea.setText(text);
                 }
 
             } catch (ConnectException e) {
@@ -301,37 +237,20 @@ public class DictionaryClient extends JFrame {
     /***
      * Client method that attempts to update a word's definitions in the dictionary in the server.
      * Ensures that the to-be-updated word and its new definitions are non-empty.
-     * Creates a temporary socket for sending the command, word, and definitions to the server.
-     * If the sending operation is successful, then it attempts to receive the response from the server.
-     *
-     * @param host The host of the client socket
-     * @param port The port of the client socket
+     * Sends the command, word, and definitions to the server over the client's connection,
+     * then waits for the response from the server.
      */
-    public void updateWord(String host, int port) {
+    public void updateWord() {
 
         if (!addUpdateTextField.getText().equals("")) {
 
             if (!addUpdateTextArea.getText().equals("")) {
 
-                try (Socket socket = new Socket(host, port)) {
-
-                    List<String> messageList = Arrays.asList(new String[]{UPDATE_COMMAND,
-                                                                            addUpdateTextField.getText(),
-                                                                            addUpdateTextArea.getText()});
-                    String message = messageList.stream()
-                                                .reduce((message1, message2) -> message1 +
-                                                        MESSAGE_DELIMITER + message2).get() + "\n";
-
-                    if (outputSocketStream(socket, message)) {
-                        String result = inputSocketStream(socket);
-
-                        if (result != null) {
-                            addUpdateErrorLabel.setText(result);
-                        } else {
-                            System.out.println("Error updating existing word.");
-                        }
+                try {
 
-                    }
+                    String result = connection.request(UPDATE_COMMAND, addUpdateTextField.getText(),
+                                                       addUpdateTextArea.getText());
+                    addUpdateErrorLabel.setText(result);
 
                 } catch (ConnectException e) {
                     handleConnectException();
@@ -353,39 +272,17 @@ public class DictionaryClient extends JFrame {
     /***
      * Client method that attempts to delete a word and its definitions from the dictionary in the server.
      * Ensures that the to-be-deleted word is non-empty.
-     * Creates a temporary socket for sending the command and the word to the server.
-     * If the sending operation is successful, then it attempts to receive the response from the server.
-     *
-     * @param host The host of the client socket
-     * @param port The port of the client socket
+     * Sends the command and the word to the server over the client's connection,
+     * then waits for the response from the server.
      */
-    public void deleteWord(String host, int port) {
+    public void deleteWord() {
 
         if (!searchDeleteTextField.getText().equals("")) {
 
-            try (Socket socket = new Socket(host, port)) {
-
-
-                List<String> messageList = Arrays.asList(new String[]{DELETE_COMMAND,
-                                                                        searchDeleteTextField.getText(),
-                                                                        " "});
-                String message = messageList.stream()
-                                            .reduce((message1, message2) -> message1 +
-                                                    MESSAGE_DELIMITER + message2).get() + "\n";
-
-                if (outputSocketStream(socket, message)) {
-
-                    String result = inputSocketStream(socket);
-
-                    if (result != null) {
-                        searchDeleteErrorLabel.setText(result);
-
-                    } else {
-                        System.out.println("Error deleting existing word.");
-                    }
-
-                }
+            try {
 
+                String result = connection.request(DELETE_COMMAND, searchDeleteTextField.getText(), " ");
+                searchDeleteErrorLabel.setText(result);
 
             } catch (ConnectException e) {
                 handleConnectException();
@@ -0,0 +1,414 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package client;
+
+import protocol.BinaryProtocol;
+import protocol.BinaryReply;
+import protocol.BinaryRequest;
+
+import java.io.*;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * Long-lived, pipelined connection from a client to the dictionary server.
+ *
+ * Requests may be sent without waiting for the replies of earlier ones. With the text protocol, the server answers
+ * the requests of a connection in the order they were sent, so every reply is matched to the oldest request still
+ * waiting for one. With the binary protocol, every reply carries the id of the request it answers.
+ * If the connection breaks, the requests still waiting fail, and the next request reconnects automatically.
+ */
+public class DictionaryConnection implements Closeable {
+
+    private static final String MESSAGE_DELIMITER = ">";
+    private static final String SEMICOLON_DELIMITER = ";";
+
+    private static final String ADD_COMMAND = "add";
+    private static final String SEARCH_COMMAND = "search";
+    private static final String UPDATE_COMMAND = "update";
+    private static final String DELETE_COMMAND = "delete";
+
+    private static final String SUCCESS_REPLY = "Dictionary successfully updated!";
+    private static final String ALREADY_EXISTS_REPLY = "Word already exists.";
+    private static final String UPDATE_MISSING_REPLY = "Word does not exist. A non-existent word cannot be updated.";
+    private static final String ERROR_REPLY = "Error operating server.";
+
+    // The server answers a failed delete with two lines; the second one is not a reply of its own
+    private static final String DELETE_MISSING_REPLY = "Word does not exist.";
+
+    private static final int PREFACE_TIMEOUT_MILLIS = 5000;
+
+    private final String host;
+    private final int port;
+    private final boolean binary;
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+
+    private Link link;
+    private boolean closed = false;
+
+    /***
+     * Constructor for DictionaryConnection, speaking the text protocol. The connection is opened by the first request.
+     *
+     * @param host The remote host of the server
+     * @param port The remote port of the server
+     */
+    public DictionaryConnection(String host, int port) {
+        this(host, port, false);
+    }
+
+    /***
+     * Constructor for DictionaryConnection. The connection is opened by the first request.
+     *
+     * @param host The remote host of the server
+     * @param port The remote port of the server
+     * @param binary true to speak the binary protocol, false for the text protocol
+     */
+    public DictionaryConnection(String host, int port, boolean binary) {
+        this.host = host;
+        this.port = port;
+        this.binary = binary;
+    }
+
+    /***
+     * A request waiting for its reply.
+     */
+    private static class PendingRequest<T> {
+        private final String command;
+        private final boolean batch;
+        private final CompletableFuture<T> reply = new CompletableFuture<>();
+
+        private PendingRequest(String command, boolean batch) {
+            this.command = command;
+            this.batch = batch;
+        }
+    }
+
+    /***
+     * One socket to the server, with the reader thread matching its replies to its waiting requests.
+     */
+    private class Link implements Runnable {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final Queue<PendingRequest<String>> pendingLines = new ConcurrentLinkedQueue<>();
+        private final Map<Integer, PendingRequest<BinaryReply>> pendingFrames = new ConcurrentHashMap<>();
+        private volatile boolean broken = false;
+
+        private Link() throws IOException {
+            socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            in = new BufferedInputStream(socket.getInputStream());
+            out = new BufferedOutputStream(socket.getOutputStream());
+
+            if (binary) {
+                negotiateBinary();
+            }
+
+            Thread reader = new Thread(this, "dictionary-connection-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        /***
+         * Sends the binary protocol preface and waits for the server to echo it back.
+         */
+        private void negotiateBinary() throws IOException {
+            out.write(BinaryProtocol.preface());
+            out.flush();
+
+            socket.setSoTimeout(PREFACE_TIMEOUT_MILLIS);
+            try {
+                byte[] preface = new byte[2];
+                new DataInputStream(in).readFully(preface);
+                if (preface[0] != BinaryProtocol.MAGIC) {
+                    throw new ProtocolException("Server does not support the binary protocol.");
+                }
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            } finally {
+                if (!socket.isClosed()) {
+                    socket.setSoTimeout(0);
+                }
+            }
+        }
+
+        /***
+         * The run function of the reader thread.
+         */
+        @Override
+        public void run() {
+            IOException failure = new EOFException("Connection closed by the server.");
+            try {
+                if (binary) {
+                    readFrames();
+                } else {
+                    readLines();
+                }
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                fail(failure);
+            }
+        }
+
+        private void readLines() throws IOException {
+            BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String result;
+            while ((result = lines.readLine()) != null) {
+                PendingRequest<String> request = pendingLines.poll();
+                if (request == null) {
+                    continue;
+                }
+                if (request.command.equals(DELETE_COMMAND) && result.equals(DELETE_MISSING_REPLY)) {
+                    lines.readLine();
+                }
+                request.reply.complete(result);
+            }
+        }
+
+        private void readFrames() throws IOException {
+            DataInputStream frames = new DataInputStream(in);
+            ByteBuffer frame;
+            while ((frame = BinaryProtocol.readFrame(frames)) != null) {
+                PendingRequest<BinaryReply> request = pendingFrames.remove(BinaryProtocol.peekRequestId(frame));
+                if (request == null) {
+                    continue;
+                }
+                request.reply.complete(BinaryProtocol.decodeReply(frame, request.batch));
+            }
+        }
+
+        /***
+         * Closes the socket and fails every request still waiting for a reply.
+         */
+        private void fail(IOException failure) {
+            broken = true;
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+            PendingRequest<String> line;
+            while ((line = pendingLines.poll()) != null) {
+                line.reply.completeExceptionally(failure);
+            }
+            for (Integer requestId : pendingFrames.keySet()) {
+                PendingRequest<BinaryReply> frame = pendingFrames.remove(requestId);
+                if (frame != null) {
+                    frame.reply.completeExceptionally(failure);
+                }
+            }
+        }
+    }
+
+    /***
+     * @return the open link to the server, reconnecting first if the previous one broke
+     */
+    private Link currentLink() throws IOException {
+        if (closed) {
+            throw new IOException("Connection is closed.");
+        }
+        if (link == null || link.broken) {
+            link = new Link();
+        }
+        return link;
+    }
+
+    /***
+     * Sends a request without waiting for its reply, reconnecting first if the connection is not open.
+     * With the binary protocol, the reply is translated to the text the text protocol would have answered.
+     *
+     * @param command the dictionary command (add, search, update or delete)
+     * @param word the word the command operates on
+     * @param definitions the semicolon-separated definitions, or a blank for commands without any
+     * @return the future completed with the server's reply
+     */
+    public CompletableFuture<String> send(String command, String word, String definitions) {
+
+        if (binary) {
+            byte opcode = toOpcode(command);
+            List<String> definitionList = opcode == BinaryProtocol.ADD || opcode == BinaryProtocol.UPDATE
+                                          ? Arrays.asList(definitions.split(SEMICOLON_DELIMITER))
+                                          : Collections.emptyList();
+            return send(BinaryRequest.of(0, opcode, word, definitionList))
+                    .thenApply(reply -> toText(opcode, reply));
+        }
+
+        return sendLine(command, command + MESSAGE_DELIMITER + word + MESSAGE_DELIMITER + definitions + "\n");
+    }
+
+    /***
+     * Sends a batch command of the text protocol (madd, msearch, mupdate or mdelete) without waiting for its reply.
+     * The reply holds one result per item, separated by (>).
+     *
+     * @param command the batch command
+     * @param arguments the words, or alternating words and semicolon-separated definitions, of the batch
+     * @return the future completed with the server's reply
+     * @throws IllegalStateException if the connection speaks the binary protocol, which has batch frames instead
+     */
+    public CompletableFuture<String> sendBatch(String command, List<String> arguments) {
+
+        if (binary) {
+            throw new IllegalStateException("Connection speaks the binary protocol.");
+        }
+
+        return sendLine(command, command + MESSAGE_DELIMITER + String.join(MESSAGE_DELIMITER, arguments) + "\n");
+    }
+
+    private CompletableFuture<String> sendLine(String command, String message) {
+
+        PendingRequest<String> request = new PendingRequest<>(command, false);
+
+        synchronized (this) {
+            Link current = null;
+            try {
+                current = currentLink();
+
+                // Requests are queued in the same order as they are written, under the same lock
+                current.pendingLines.add(request);
+                current.out.write(message.getBytes(StandardCharsets.UTF_8));
+                current.out.flush();
+            } catch (IOException e) {
+                if (current != null) {
+                    current.fail(e);
+                }
+                request.reply.completeExceptionally(e);
+            }
+        }
+
+        return request.reply;
+    }
+
+    /***
+     * Sends a binary protocol request (a single command or a batch) without waiting for its reply.
+     * The request is given a fresh request id.
+     *
+     * @param request the request to send
+     * @return the future completed with the server's reply
+     * @throws IllegalStateException if the connection speaks the text protocol
+     */
+    public CompletableFuture<BinaryReply> send(BinaryRequest request) {
+
+        if (!binary) {
+            throw new IllegalStateException("Connection speaks the text protocol.");
+        }
+
+        int requestId = nextRequestId.incrementAndGet();
+        BinaryRequest numbered = request.withRequestId(requestId);
+        PendingRequest<BinaryReply> pending = new PendingRequest<>(null,
+                                                                   request.getOpcode() == BinaryProtocol.BATCH);
+        byte[] frame = BinaryProtocol.encodeRequest(numbered);
+
+        synchronized (this) {
+            Link current = null;
+            try {
+                current = currentLink();
+                current.pendingFrames.put(requestId, pending);
+                current.out.write(frame);
+                current.out.flush();
+            } catch (IOException e) {
+                if (current != null) {
+                    current.fail(e);
+                }
+                pending.reply.completeExceptionally(e);
+            }
+        }
+
+        return pending.reply;
+    }
+
+    private static byte toOpcode(String command) {
+        switch (command) {
+            case ADD_COMMAND:
+                return BinaryProtocol.ADD;
+            case SEARCH_COMMAND:
+                return BinaryProtocol.SEARCH;
+            case UPDATE_COMMAND:
+                return BinaryProtocol.UPDATE;
+            case DELETE_COMMAND:
+                return BinaryProtocol.DELETE;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    /***
+     * Translates a binary protocol reply to the text reply of the same command.
+     */
+    private static String toText(byte opcode, BinaryReply reply) {
+        switch (reply.getStatus()) {
+            case BinaryProtocol.OK:
+                return opcode == BinaryProtocol.SEARCH
+                       ? String.join(SEMICOLON_DELIMITER, reply.getDefinitions())
+                       : SUCCESS_REPLY;
+            case BinaryProtocol.ALREADY_EXISTS:
+                return ALREADY_EXISTS_REPLY;
+            case BinaryProtocol.NOT_FOUND:
+                return opcode == BinaryProtocol.UPDATE ? UPDATE_MISSING_REPLY : DELETE_MISSING_REPLY;
+            default:
+                return ERROR_REPLY;
+        }
+    }
+
+    /***
+     * Sends a request and waits for its reply.
+     *
+     * @param command the dictionary command (add, search, update or delete)
+     * @param word the word the command operates on
+     * @param definitions the semicolon-separated definitions, or a blank for commands without any
+     * @return the server's reply
+     * @throws IOException if the request could not be sent or the connection broke before the reply
+     */
+    public String request(String command, String word, String definitions) throws IOException {
+        return await(send(command, word, definitions));
+    }
+
+    /***
+     * Waits for the reply of a request sent with this connection.
+     *
+     * @param reply the future returned when the request was sent
+     * @return the server's reply
+     * @throws IOException if the request could not be sent or the connection broke before the reply
+     */
+    public static <T> T await(CompletableFuture<T> reply) throws IOException {
+        try {
+            return reply.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException
+                  ? (IOException) e.getCause()
+                  : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the server's reply.");
+        }
+    }
+
+    /***
+     * Closes the connection, failing every request still waiting for a reply.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (link != null) {
+            link.fail(new IOException("Connection is closed."));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package client;
+
+import java.util.SplittableRandom;
+
+/***
+ * Draws the indexes of the keys a load generator client requests, out of a key space of N keys.
+ *
+ * Keys are either drawn uniformly, or from a Zipfian distribution where the key of rank k (counting from 0)
+ * is drawn with a probability proportional to 1 / (k + 1)^theta, so that a few hot keys take most requests
+ * as they do in real workloads. Zipfian draws use the constant-time method of Gray et al.
+ * ("Quickly Generating Billion-Record Synthetic Databases"), after computing the zeta constant once.
+ */
+public class KeyGenerator {
+
+    public static final String UNIFORM = "uniform";
+    public static final String ZIPFIAN = "zipfian";
+
+    public static final double DEFAULT_THETA = 0.99;
+
+    private final int keys;
+    private final boolean zipfian;
+
+    private final double theta;
+    private final double alpha;
+    private final double eta;
+    private final double zetaN;
+
+    /***
+     * Constructor for KeyGenerator.
+     *
+     * @param keys the number of keys in the key space, at least 1
+     * @param zipfian true to draw keys from a Zipfian distribution, false to draw them uniformly
+     * @param theta the skew of the Zipfian distribution, between 0 (excluded) and 1 (excluded)
+     */
+    public KeyGenerator(int keys, boolean zipfian, double theta) {
+        this.keys = keys;
+        this.zipfian = zipfian;
+        this.theta = theta;
+
+        if (zipfian) {
+            double zeta2 = zeta(2, theta);
+            zetaN = zeta(keys, theta);
+            alpha = 1 / (1 - theta);
+            eta = (1 - Math.pow(2.0 / keys, 1 - theta)) / (1 - zeta2 / zetaN);
+        } else {
+            zetaN = alpha = eta = 0;
+        }
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+
+    /***
+     * @return the number of keys in the key space
+     */
+    public int getKeys() {
+        return keys;
+    }
+
+    /***
+     * Draws the index of a key. Safe to call from several threads as long as each uses its own random source.
+     *
+     * @param random the random source of the calling thread
+     * @return a key index between 0 and the number of keys (excluded); 0 is the hottest Zipfian key
+     */
+    public int next(SplittableRandom random) {
+
+        if (!zipfian) {
+            return random.nextInt(keys);
+        }
+
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < 1 + Math.pow(0.5, theta)) {
+            return Math.min(1, keys - 1);
+        }
+        return Math.min(keys - 1, (int) (keys * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    /***
+     * @return the word requested for the key of the given index
+     */
+    public static String word(int index) {
+        return "loadkey" + index;
+    }
+}
@@ -0,0 +1,355 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package client;
+
+import metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/***
+ * Headless load generator running N simulated clients against a live dictionary server, each over its own
+ * DictionaryConnection, and reporting the throughput and latency the server sustained.
+ *
+ * Each client sends a request, waits for its reply, then sends the next one (a closed loop), searching a key or,
+ * for the given percentage of requests, updating it. The keys are added to the dictionary before the run.
+ *
+ * Given a target rate, each client paces its requests on a fixed schedule. When the server stalls, the requests
+ * the client could not send on schedule are late, and their latency is counted from when they were due to be sent
+ * rather than from when they were sent, so that a stall is counted against every request it held back (correcting
+ * for coordinated omission). Both the corrected response times and the uncorrected service times are reported.
+ * Without a target rate, clients send as fast as the server answers and both are the same.
+ */
+public class LoadGenerator {
+
+    private static final String HOST_OPTION = "-h";
+    private static final String PORT_OPTION = "-p";
+    private static final String BINARY_OPTION = "-b";
+    private static final String CLIENTS_OPTION = "-c";
+    private static final String DURATION_OPTION = "-d";
+    private static final String WARMUP_OPTION = "-u";
+    private static final String RATE_OPTION = "-r";
+    private static final String WRITE_PERCENT_OPTION = "-w";
+    private static final String KEYS_OPTION = "-n";
+    private static final String DISTRIBUTION_OPTION = "-k";
+    private static final String THETA_OPTION = "-z";
+
+    private static final String DEFAULT_HOST = "localhost";
+    private static final int DEFAULT_PORT = 3000;
+    private static final int DEFAULT_CLIENTS = 16;
+    private static final int DEFAULT_DURATION_SECONDS = 30;
+    private static final int DEFAULT_WARMUP_SECONDS = 5;
+    private static final int DEFAULT_WRITE_PERCENT = 5;
+    private static final int DEFAULT_KEYS = 100000;
+
+    private static final String SEARCH_COMMAND = "search";
+    private static final String ADD_COMMAND = "add";
+    private static final String UPDATE_COMMAND = "update";
+
+    private static final String ERROR_REPLY = "Error operating server.";
+
+    // Number of key additions in flight at once while the keys are added before the run
+    private static final int PRELOAD_WINDOW = 1000;
+
+    // How long before a paced request is due its client stops parking and starts spinning
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999", "p9999"};
+
+    private final String host;
+    private final int port;
+    private final boolean binary;
+    private final int clients;
+    private final double rate;
+    private final int writePercent;
+    private final KeyGenerator keyGenerator;
+
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private final LatencyHistogram serviceTimes = new LatencyHistogram();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /***
+     * Constructor for LoadGenerator.
+     *
+     * @param host The remote host of the server
+     * @param port The remote port of the server
+     * @param binary true to speak the binary protocol, false for the text protocol
+     * @param clients The number of simulated clients, each with its own connection
+     * @param rate The target number of requests per second over all clients, or 0 to send as fast as possible
+     * @param writePercent The percentage of requests that update a key instead of searching it
+     * @param keyGenerator The distribution of the keys requested
+     */
+    public LoadGenerator(String host, int port, boolean binary, int clients, double rate, int writePercent,
+                         KeyGenerator keyGenerator) {
+        this.host = host;
+        this.port = port;
+        this.binary = binary;
+        this.clients = clients;
+        this.rate = rate;
+        this.writePercent = writePercent;
+        this.keyGenerator = keyGenerator;
+    }
+
+    /***
+     * Adds every key of the key space to the dictionary, keeping the definitions of keys already there.
+     *
+     * @throws IOException if the server cannot be reached
+     */
+    public void preload() throws IOException {
+
+        try (DictionaryConnection connection = new DictionaryConnection(host, port, binary)) {
+            List<CompletableFuture<String>> window = new ArrayList<>(PRELOAD_WINDOW);
+            for (int i = 0; i < keyGenerator.getKeys(); i++) {
+                window.add(connection.send(ADD_COMMAND, KeyGenerator.word(i), "loaded definition " + i));
+                if (window.size() == PRELOAD_WINDOW || i == keyGenerator.getKeys() - 1) {
+                    for (CompletableFuture<String> reply : window) {
+                        DictionaryConnection.await(reply);
+                    }
+                    window.clear();
+                }
+            }
+        }
+    }
+
+    /***
+     * Runs the simulated clients for the warmup and then the measured duration, and waits for them to stop.
+     * Only the requests due to be sent within the measured duration are counted.
+     *
+     * @param warmupNanos how long the clients run before their requests are counted
+     * @param durationNanos how long their requests are counted
+     * @throws InterruptedException if interrupted while waiting for the clients to stop
+     */
+    public void run(long warmupNanos, long durationNanos) throws InterruptedException {
+
+        long start = System.nanoTime();
+        long measureStart = start + warmupNanos;
+        long measureEnd = measureStart + durationNanos;
+
+        // Each client is given an equal share of the target rate, and their schedules are staggered evenly
+        long interval = rate > 0 ? (long) (clients * TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            long firstRequest = start + (interval * client) / clients;
+            Thread thread = new Thread(() -> runClient(client, firstRequest, interval, measureStart, measureEnd),
+                                       "load-client-" + client);
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void runClient(int client, long firstRequest, long interval, long measureStart, long measureEnd) {
+
+        SplittableRandom random = new SplittableRandom(client * 0x9E3779B97F4A7C15L);
+
+        try (DictionaryConnection connection = new DictionaryConnection(host, port, binary)) {
+
+            long intended = firstRequest;
+            long sequence = 0;
+
+            while (intended < measureEnd) {
+
+                // Paced clients wait for their next slot; a late client sends at once to catch up
+                long now = System.nanoTime();
+                if (interval > 0 && now < intended) {
+                    now = awaitSlot(intended, now);
+                } else if (interval == 0) {
+                    intended = now;
+                }
+
+                String word = KeyGenerator.word(keyGenerator.next(random));
+                boolean update = random.nextInt(100) < writePercent;
+
+                boolean failed;
+                try {
+                    String reply = update
+                                   ? connection.request(UPDATE_COMMAND, word, "updated by client " + client +
+                                                                              " request " + sequence)
+                                   : connection.request(SEARCH_COMMAND, word, " ");
+                    failed = reply == null || reply.equals(ERROR_REPLY);
+                } catch (IOException e) {
+                    // The connection reconnects on the next request
+                    failed = true;
+                }
+                long end = System.nanoTime();
+
+                if (intended >= measureStart) {
+                    if (failed) {
+                        errors.increment();
+                    } else {
+                        responseTimes.record(end - intended);
+                        serviceTimes.record(end - now);
+                        (update ? updates : searches).increment();
+                    }
+                }
+
+                sequence++;
+                intended = interval > 0 ? intended + interval : end;
+            }
+        }
+    }
+
+    /***
+     * Waits until a request is due. Parking oversleeps by tens of microseconds, which would be counted as server
+     * latency, so the client parks until shortly before the request is due and spins for the rest.
+     *
+     * @return the time at which the request is due, or shortly after
+     */
+    private static long awaitSlot(long intended, long now) {
+        if (intended - now > SPIN_NANOS) {
+            LockSupport.parkNanos(intended - now - SPIN_NANOS);
+        }
+        while ((now = System.nanoTime()) < intended) {
+            Thread.onSpinWait();
+        }
+        return now;
+    }
+
+    /***
+     * Formats the outcome of the measured duration.
+     *
+     * @param durationNanos how long the requests were counted
+     * @return the report, one measure per line
+     */
+    public String report(long durationNanos) {
+
+        double seconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        long completed = searches.sum() + updates.sum();
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("clients=%d target-rate=%s write-percent=%d keys=%d%n", clients,
+                                    rate > 0 ? String.format("%.0f/s", rate) : "unbounded", writePercent,
+                                    keyGenerator.getKeys()));
+        report.append(String.format("requests=%d searches=%d updates=%d errors=%d%n", completed, searches.sum(),
+                                    updates.sum(), errors.sum()));
+        report.append(String.format("throughput=%.1f requests/s%n", completed / seconds));
+        report.append(formatLatency("response time (corrected)", responseTimes));
+        report.append(formatLatency("service time", serviceTimes));
+        return report.toString();
+    }
+
+    private static String formatLatency(String name, LatencyHistogram latency) {
+        StringBuilder line = new StringBuilder(name).append(" in microseconds:");
+        line.append(String.format(" mean=%.1f", latency.getMean() / NANOS_PER_MICRO));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            line.append(String.format(" %s=%.1f", PERCENTILE_NAMES[i],
+                                      latency.getPercentile(PERCENTILES[i]) / NANOS_PER_MICRO));
+        }
+        line.append(String.format(" max=%.1f%n", latency.getMax() / NANOS_PER_MICRO));
+        return line.toString();
+    }
+
+    /***
+     * Main function of the load generator.
+     *
+     * @param args Command line arguments of the load generator.
+     */
+    public static void main(String[] args) {
+
+        String host = DEFAULT_HOST;
+        int port = DEFAULT_PORT;
+        boolean binary = false;
+        int clients = DEFAULT_CLIENTS;
+        int durationSeconds = DEFAULT_DURATION_SECONDS;
+        int warmupSeconds = DEFAULT_WARMUP_SECONDS;
+        double rate = 0;
+        int writePercent = DEFAULT_WRITE_PERCENT;
+        int keys = DEFAULT_KEYS;
+        boolean zipfian = false;
+        double theta = KeyGenerator.DEFAULT_THETA;
+
+        // Parsing the argument options of the server to load and of the load to put on it
+
+        try {
+            Iterator<String> it = Arrays.asList(args).iterator();
+
+            while (it.hasNext()) {
+                String option = it.next();
+
+                switch (option) {
+                    case HOST_OPTION:
+                        if (it.hasNext()) host = it.next();
+                        break;
+                    case PORT_OPTION:
+                        if (it.hasNext()) port = Integer.parseInt(it.next());
+                        break;
+                    case BINARY_OPTION:
+                        binary = true;
+                        break;
+                    case CLIENTS_OPTION:
+                        if (it.hasNext()) clients = Math.max(1, Integer.parseInt(it.next()));
+                        break;
+                    case DURATION_OPTION:
+                        if (it.hasNext()) durationSeconds = Math.max(1, Integer.parseInt(it.next()));
+                        break;
+                    case WARMUP_OPTION:
+                        if (it.hasNext()) warmupSeconds = Math.max(0, Integer.parseInt(it.next()));
+                        break;
+                    case RATE_OPTION:
+                        // Target requests per second over all clients, 0 to send as fast as the server answers
+                        if (it.hasNext()) rate = Math.max(0, Double.parseDouble(it.next()));
+                        break;
+                    case WRITE_PERCENT_OPTION:
+                        if (it.hasNext()) writePercent = Math.min(100, Math.max(0, Integer.parseInt(it.next())));
+                        break;
+                    case KEYS_OPTION:
+                        if (it.hasNext()) keys = Math.max(1, Integer.parseInt(it.next()));
+                        break;
+                    case DISTRIBUTION_OPTION:
+                        // uniform or zipfian
+                        if (it.hasNext()) zipfian = it.next().equalsIgnoreCase(KeyGenerator.ZIPFIAN);
+                        break;
+                    case THETA_OPTION:
+                        if (it.hasNext()) theta = Double.parseDouble(it.next());
+                        if (theta <= 0 || theta >= 1) theta = KeyGenerator.DEFAULT_THETA;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Non-numeric option value for the load generator. Fallback to the defaults.");
+        }
+
+        LoadGenerator generator = new LoadGenerator(host, port, binary, clients, rate, writePercent,
+                                                    new KeyGenerator(keys, zipfian, theta));
+
+        try {
+            System.out.println("Adding " + keys + " keys to the dictionary at " + host + ":" + port + "...");
+            generator.preload();
+
+            System.out.println("Running " + clients + " clients for " + warmupSeconds + "s of warmup and " +
+                               durationSeconds + "s of measurement, with " +
+                               (zipfian ? "Zipfian (theta=" + theta + ")" : "uniform") + " keys...");
+            long durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+            generator.run(TimeUnit.SECONDS.toNanos(warmupSeconds), durationNanos);
+
+            System.out.print(generator.report(durationNanos));
+        } catch (IOException e) {
+            System.out.println("Error connecting to the server at " + host + ":" + port + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            System.out.println("Load generator interrupted.");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.util.Collections;
+import java.util.List;
+
+/***
+ * A single add, update or delete within a batch of mutations applied to the dictionary together.
+ */
+public class BatchMutation {
+
+    public enum Kind {
+        ADD, UPDATE, DELETE
+    }
+
+    private final Kind kind;
+    private final String word;
+    private final List<String> definitions;
+
+    private BatchMutation(Kind kind, String word, List<String> definitions) {
+        this.kind = kind;
+        this.word = word;
+        this.definitions = definitions;
+    }
+
+    public static BatchMutation add(String word, List<String> definitions) {
+        return new BatchMutation(Kind.ADD, word, definitions);
+    }
+
+    public static BatchMutation update(String word, List<String> definitions) {
+        return new BatchMutation(Kind.UPDATE, word, definitions);
+    }
+
+    public static BatchMutation delete(String word) {
+        return new BatchMutation(Kind.DELETE, word, Collections.emptyList());
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public List<String> getDefinitions() {
+        return definitions;
+    }
+}
@@ -0,0 +1,270 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/***
+ * Parallel import of a CSV dictionary file, used when there is no snapshot to load.
+ *
+ * The file is split into chunks of about CHUNK_SIZE bytes at line boundaries. Every chunk is memory-mapped and
+ * parsed on the fork-join common pool, and its entries are sorted by the root bucket of their word in the trie.
+ * The subtree of every bucket is then built in parallel, going through the chunks in file order, so that a word
+ * appearing on several lines keeps the definitions of its last line, as with a sequential read.
+ *
+ * Lines follow the rules of {@link DictionaryStore#readCSVToHashMap(String)}: a line is split at every comma and
+ * at every semicolon as String.split would, dropping trailing empty tokens, and is ignored unless it holds exactly
+ * a word and its definitions. Words are lower-cased. Both \n and \r end a line, and the file is read as UTF-8.
+ */
+public class CsvImporter {
+
+    private static final int CHUNK_SIZE = 8 << 20;
+    private static final int BOUNDARY_SCAN_SIZE = 1 << 12;
+
+    private static final byte COMMA = ',';
+    private static final byte SEMICOLON = ';';
+
+    private final File csvFile;
+
+    /***
+     * Constructor for CsvImporter.
+     *
+     * @param dictionaryFile The name of the CSV dictionary file in the root directory
+     */
+    public CsvImporter(String dictionaryFile) {
+        this.csvFile = new File(System.getProperty("user.dir") + File.separator + dictionaryFile);
+    }
+
+    /***
+     * Reads the CSV file into a trie holding every word's definitions as Definitions.
+     *
+     * @return HashTrie of every word to its definitions
+     * @throws IOException if the file cannot be read
+     */
+    public HashTrie<String, List<String>> load() throws IOException {
+
+        try (FileChannel channel = FileChannel.open(csvFile.toPath(), StandardOpenOption.READ)) {
+
+            long[] boundaries = chunkBoundaries(channel);
+            int chunks = boundaries.length - 1;
+
+            List<HashTrie.Buckets<String, List<String>>> parsed;
+            try {
+                parsed = IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+                    try {
+                        HashTrie.Buckets<String, List<String>> entries = new HashTrie.Buckets<>();
+                        parseChunk(channel, boundaries[chunk], boundaries[chunk + 1], entries::add);
+                        return entries;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return HashTrie.build(parsed);
+        }
+    }
+
+    /***
+     * Reads the CSV file entry by entry, in file order, without holding more than a few chunks of it at once.
+     * The chunks are parsed in parallel, a group of as many as there are processors at a time.
+     *
+     * @param action called with every word and its definitions, as Definitions, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public void forEach(BiConsumer<String, List<String>> action) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(csvFile.toPath(), StandardOpenOption.READ)) {
+
+            long[] boundaries = chunkBoundaries(channel);
+            int chunks = boundaries.length - 1;
+            int group = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+            for (int first = 0; first < chunks; first += group) {
+                List<List<Map.Entry<String, List<String>>>> parsed;
+                try {
+                    parsed = IntStream.range(first, Math.min(first + group, chunks)).parallel().mapToObj(chunk -> {
+                        List<Map.Entry<String, List<String>>> entries = new ArrayList<>();
+                        try {
+                            parseChunk(channel, boundaries[chunk], boundaries[chunk + 1],
+                                       (word, definitions) -> entries.add(new SimpleImmutableEntry<>(word,
+                                                                                                    definitions)));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return entries;
+                    }).collect(Collectors.toList());
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                for (List<Map.Entry<String, List<String>>> entries : parsed) {
+                    for (Map.Entry<String, List<String>> entry : entries) {
+                        action.accept(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    /***
+     * Finds the start of the first line at or after every multiple of CHUNK_SIZE.
+     *
+     * @return the offsets at which the chunks start, followed by the size of the file
+     */
+    private long[] chunkBoundaries(FileChannel channel) throws IOException {
+
+        long size = channel.size();
+        long[] boundaries = new long[(int) (size / CHUNK_SIZE) + 2];
+        int chunks = 0;
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+
+        long position = CHUNK_SIZE;
+        while (position < size) {
+            long lineStart = nextLineStart(channel, position - 1, scan);
+            if (lineStart >= size) {
+                break;
+            }
+            if (lineStart > boundaries[chunks]) {
+                boundaries[++chunks] = lineStart;
+            }
+            position = Math.max(position + CHUNK_SIZE, lineStart + 1);
+        }
+        boundaries[++chunks] = size;
+
+        long[] result = Arrays.copyOf(boundaries, chunks + 1);
+        for (int i = 0; i < chunks; i++) {
+            if (result[i + 1] - result[i] > Integer.MAX_VALUE) {
+                throw new IOException("Line too long in dictionary file: " + csvFile.getName());
+            }
+        }
+        return result;
+    }
+
+    /***
+     * @return the offset just after the first line terminator at or after the given offset, or the size of the
+     * file if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer scan) throws IOException {
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = scan.get(i);
+                if (b == '\n' || b == '\r') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private static void parseChunk(FileChannel channel, long start, long end,
+                                   BiConsumer<String, List<String>> entries) throws IOException {
+
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        byte[] chunk = new byte[(int) (end - start)];
+        mapped.get(chunk);
+
+        int lineStart = 0;
+        for (int i = 0; i < chunk.length; i++) {
+            byte b = chunk[i];
+            if (b == '\n' || b == '\r') {
+                parseLine(chunk, lineStart, i, entries);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < chunk.length) {
+            parseLine(chunk, lineStart, chunk.length, entries);
+        }
+    }
+
+    /***
+     * Parses a single line as line.split(",") and definitions.split(";") would, and adds it to the entries
+     * if it holds a word and its definitions.
+     */
+    private static void parseLine(byte[] line, int start, int end, BiConsumer<String, List<String>> entries) {
+
+        // Trailing empty tokens are dropped by split
+        while (end > start && line[end - 1] == COMMA) {
+            end--;
+        }
+
+        int comma = -1;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            byte b = line[i];
+            if (b == COMMA) {
+                if (comma != -1) {
+                    // Ignore lines with more than a word and its definitions
+                    return;
+                }
+                comma = i;
+            } else if (b < 0) {
+                ascii = false;
+            }
+        }
+
+        // Ignore lines without definitions, and lines with empty words
+        if (comma == -1 || comma == start) {
+            return;
+        }
+
+        int definitionsEnd = end;
+        while (definitionsEnd > comma + 1 && line[definitionsEnd - 1] == SEMICOLON) {
+            definitionsEnd--;
+        }
+        // Ignore lines with empty definitions
+        if (definitionsEnd == comma + 1) {
+            return;
+        }
+
+        int count = 1;
+        for (int i = comma + 1; i < definitionsEnd; i++) {
+            if (line[i] == SEMICOLON) {
+                count++;
+            }
+        }
+        String[] definitions = new String[count];
+        int definition = 0;
+        int definitionStart = comma + 1;
+        for (int i = comma + 1; i <= definitionsEnd; i++) {
+            if (i == definitionsEnd || line[i] == SEMICOLON) {
+                definitions[definition++] = decode(line, definitionStart, i, ascii);
+                definitionStart = i + 1;
+            }
+        }
+
+        // All words are case-insensitive and become lower-cased
+        String word = decode(line, start, comma, ascii).toLowerCase();
+        entries.accept(word, Definitions.of(definitions));
+    }
+
+    private static String decode(byte[] line, int start, int end, boolean ascii) {
+        return new String(line, start, end - start, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+}
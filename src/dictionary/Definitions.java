@@ -0,0 +1,92 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/***
+ * The definitions of a word as held by the dictionary: an unmodifiable list that also gives the text protocol's
+ * search reply for the word, encoded as UTF-8.
+ *
+ * Definitions held on the heap keep their encoded reply once it has been asked for. Every add and update stores
+ * a new Definitions, so the encoded reply belongs to exactly one version of a word's definitions: replacing the
+ * definitions replaces their encoded reply in the same write, and a search can never be answered with the reply
+ * of an older version. The reply is only encoded when the word is first searched, so that the words nobody
+ * searches for take no extra memory. Definitions read from a memory-mapped snapshot ({@link MappedDefinitions})
+ * keep nothing on the heap, and encode their reply on every search.
+ */
+public abstract class Definitions extends AbstractList<String> implements RandomAccess {
+
+    Definitions() {
+    }
+
+    /***
+     * @param definitions the definitions of a word
+     * @return the given definitions if they already are a Definitions, otherwise an unmodifiable copy of them
+     */
+    public static Definitions of(List<String> definitions) {
+        return definitions instanceof Definitions
+               ? (Definitions) definitions
+               : new Resident(definitions.toArray(new String[0]));
+    }
+
+    /***
+     * @param definitions the definitions of a word, which are kept as they are and must not be modified
+     * @return the definitions as a Definitions
+     */
+    static Definitions of(String[] definitions) {
+        return new Resident(definitions);
+    }
+
+    /***
+     * Returns the reply to a text protocol search for the word: its definitions separated by semicolons and
+     * followed by the line terminator, in UTF-8. The array may be shared by every search, and must not be modified.
+     *
+     * @return the encoded search reply
+     */
+    public abstract byte[] searchReply();
+
+    /***
+     * Definitions held on the heap.
+     */
+    private static final class Resident extends Definitions {
+
+        private static final String SEMICOLON_DELIMITER = ";";
+
+        private final String[] definitions;
+
+        // Encoded on the first search; a race only encodes the same bytes twice
+        private volatile byte[] searchReply;
+
+        private Resident(String[] definitions) {
+            this.definitions = definitions;
+        }
+
+        @Override
+        public String get(int index) {
+            return definitions[index];
+        }
+
+        @Override
+        public int size() {
+            return definitions.length;
+        }
+
+        @Override
+        public byte[] searchReply() {
+            byte[] reply = searchReply;
+            if (reply == null) {
+                reply = (String.join(SEMICOLON_DELIMITER, definitions) + "\n").getBytes(StandardCharsets.UTF_8);
+                searchReply = reply;
+            }
+            return reply;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.util.List;
+
+/***
+ * Secondary index over the words of the dictionary store, kept in sync with every mutation.
+ *
+ * The store notifies its indexes while holding the lock that orders the mutations of the word, so an index sees
+ * the mutations of each word one at a time and in the same order as they were applied. Mutations of different
+ * words may reach an index concurrently, so its maintenance must be thread-safe. Lookups on an index are not
+ * locked, and must be safe to run concurrently with its maintenance.
+ */
+public interface DictionaryIndex {
+
+    /***
+     * Called when a word is added to the dictionary, including when the dictionary is first loaded.
+     *
+     * @param word the added word
+     * @param definitions the definitions of the added word
+     */
+    void added(String word, List<String> definitions);
+
+    /***
+     * Called when the definitions of an existing word are replaced.
+     *
+     * @param word the updated word
+     * @param oldDefinitions the definitions replaced
+     * @param newDefinitions the definitions now in the dictionary
+     */
+    void updated(String word, List<String> oldDefinitions, List<String> newDefinitions);
+
+    /***
+     * Called when a word is removed from the dictionary.
+     *
+     * @param word the removed word
+     * @param oldDefinitions the definitions the word had
+     */
+    void removed(String word, List<String> oldDefinitions);
+}
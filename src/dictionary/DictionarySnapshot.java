@@ -0,0 +1,339 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/***
+ * Binary snapshot of the whole dictionary, kept next to its CSV file so that the server restarts without parsing
+ * the CSV file.
+ *
+ * The snapshot starts with a header: (int MAGIC)(int VERSION)(long entry count)(long block table offset).
+ * Every entry follows as (word)(int definition count)(definitions), where every String is a length-prefixed
+ * UTF-8 byte sequence, as in the mutation log. Entries are grouped in blocks of BLOCK_ENTRIES, and the block
+ * table at the end of the file holds (int block count)(long offset of each block), so that the blocks can be
+ * memory-mapped and decoded in parallel. A snapshot is written to a temporary file that is then moved over the
+ * previous one, so it is always complete.
+ *
+ * The snapshot is either loaded whole onto the heap, or mapped: only its words are then loaded, and their
+ * definitions are read from the mapped blocks as they are needed, so that the dictionary can be larger than the
+ * heap.
+ */
+public class DictionarySnapshot {
+
+    private static final int MAGIC = 0x44494354;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int COUNT_OFFSET = Integer.BYTES + Integer.BYTES;
+
+    private static final int BLOCK_ENTRIES = 1 << 16;
+
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final File snapshotFile;
+    private final File tempFile;
+
+    /***
+     * Constructor for DictionarySnapshot.
+     *
+     * @param dictionaryFile The name of the CSV dictionary file in the root directory
+     */
+    public DictionarySnapshot(String dictionaryFile) {
+        String root = System.getProperty("user.dir");
+        this.snapshotFile = new File(root + File.separator + dictionaryFile + SNAPSHOT_SUFFIX);
+        this.tempFile = new File(root + File.separator + dictionaryFile + SNAPSHOT_SUFFIX + TEMP_SUFFIX);
+    }
+
+    /***
+     * A snapshot is only loaded if it is at least as recent as the CSV file, so that a CSV file replaced while
+     * the server was stopped is imported instead.
+     *
+     * @param csvFile the CSV dictionary file the snapshot was taken alongside
+     * @return true if a snapshot exists and is at least as recent as the CSV file
+     */
+    public boolean isCurrent(File csvFile) {
+        return snapshotFile.isFile() && snapshotFile.lastModified() >= csvFile.lastModified();
+    }
+
+    /***
+     * Writes a snapshot of the dictionary, replacing the previous snapshot once it is complete and on the disk.
+     * The dictionary may change while it is written; the entries are counted as they are written.
+     *
+     * @param dictionary Map of every word to its definitions
+     * @return the number of entries written
+     * @throws IOException if the snapshot cannot be written
+     */
+    public long write(Map<String, List<String>> dictionary) throws IOException {
+        try (Writer writer = writer()) {
+            for (Map.Entry<String, List<String>> entry : dictionary.entrySet()) {
+                writer.add(entry.getKey(), entry.getValue());
+            }
+            return writer.commit();
+        }
+    }
+
+    /***
+     * Starts writing a snapshot entry by entry, so that a dictionary can be written without ever being held whole.
+     * A word written more than once keeps the definitions it was last written with.
+     *
+     * @return the writer of the snapshot, which must be closed
+     * @throws IOException if the snapshot cannot be created
+     */
+    Writer writer() throws IOException {
+        return new Writer();
+    }
+
+    /***
+     * Writer of a snapshot to its temporary file, which is moved over the previous snapshot once committed,
+     * and deleted if the writer is closed before.
+     */
+    final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private final List<Long> blockOffsets = new ArrayList<>();
+        private long count = 0;
+        private long offset = HEADER_LENGTH;
+        private boolean committed = false;
+
+        private Writer() throws IOException {
+            channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE,
+                                       StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                                                                WRITE_BUFFER_SIZE));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(0);
+            out.writeLong(0);
+        }
+
+        /***
+         * @param word the word of the entry
+         * @param definitions the definitions of the word
+         * @throws IOException if the entry cannot be written
+         */
+        void add(String word, List<String> definitions) throws IOException {
+            if (count % BLOCK_ENTRIES == 0) {
+                blockOffsets.add(offset);
+            }
+            offset += writeString(out, word);
+            if (definitions instanceof MappedDefinitions) {
+                // Definitions already laid out in a snapshot are copied without being decoded
+                offset += ((MappedDefinitions) definitions).writeTo(out);
+            } else {
+                out.writeInt(definitions.size());
+                offset += Integer.BYTES;
+                for (String definition : definitions) {
+                    offset += writeString(out, definition);
+                }
+            }
+            count++;
+        }
+
+        /***
+         * Completes the snapshot and moves it over the previous one.
+         *
+         * @return the number of entries written
+         * @throws IOException if the snapshot cannot be completed
+         */
+        long commit() throws IOException {
+            out.writeInt(blockOffsets.size());
+            for (long blockOffset : blockOffsets) {
+                out.writeLong(blockOffset);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES + Long.BYTES).putLong(count).putLong(offset);
+            header.flip();
+            channel.write(header, COUNT_OFFSET);
+            channel.force(true);
+            channel.close();
+
+            Files.move(tempFile.toPath(), snapshotFile.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(tempFile.toPath());
+            }
+        }
+    }
+
+    /***
+     * @return the number of bytes written
+     */
+    private static int writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return Integer.BYTES + bytes.length;
+    }
+
+    /***
+     * Loads the snapshot into a trie holding every word's definitions as Definitions.
+     * The blocks of the snapshot are mapped and decoded in parallel, and the trie is then built in parallel.
+     *
+     * @return HashTrie of every word to its definitions
+     * @throws IOException if the snapshot cannot be read, or is not a complete snapshot
+     */
+    public HashTrie<String, List<String>> load() throws IOException {
+        return read(false);
+    }
+
+    /***
+     * Loads the words of the snapshot into a trie, leaving their definitions in the mapped snapshot as
+     * MappedDefinitions, so that the definitions take no heap and are read from the file as they are needed.
+     * The snapshot file must not be modified while the trie is in use; it is only ever replaced by a new file.
+     *
+     * @return HashTrie of every word to its definitions, as MappedDefinitions
+     * @throws IOException if the snapshot cannot be read, or is not a complete snapshot
+     */
+    public HashTrie<String, List<String>> map() throws IOException {
+        return read(true);
+    }
+
+    private HashTrie<String, List<String>> read(boolean mapped) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+
+            long size = channel.size();
+            if (size < HEADER_LENGTH) {
+                throw corrupt();
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a dictionary snapshot: " + snapshotFile.getName());
+            }
+            long count = header.getLong();
+            long tableOffset = header.getLong();
+            if (count < 0 || tableOffset < HEADER_LENGTH || tableOffset > size - Integer.BYTES) {
+                throw corrupt();
+            }
+
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, tableOffset, size - tableOffset);
+            int blocks = table.getInt();
+            if (blocks != (count + BLOCK_ENTRIES - 1) / BLOCK_ENTRIES || table.remaining() != blocks * Long.BYTES) {
+                throw corrupt();
+            }
+            long[] blockOffsets = new long[blocks + 1];
+            for (int i = 0; i < blocks; i++) {
+                blockOffsets[i] = table.getLong();
+            }
+            blockOffsets[blocks] = tableOffset;
+
+            List<HashTrie.Buckets<String, List<String>>> decoded;
+            try {
+                decoded = IntStream.range(0, blocks).parallel().mapToObj(block -> {
+                    int entries = (int) Math.min(BLOCK_ENTRIES, count - (long) block * BLOCK_ENTRIES);
+                    try {
+                        return loadBlock(channel, blockOffsets[block], blockOffsets[block + 1], entries, mapped);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return HashTrie.build(decoded);
+        }
+    }
+
+    private HashTrie.Buckets<String, List<String>> loadBlock(FileChannel channel, long start, long end, int entries,
+                                                             boolean mapped) throws IOException {
+
+        if (start < HEADER_LENGTH || end < start || end - start > Integer.MAX_VALUE) {
+            throw corrupt();
+        }
+        MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        HashTrie.Buckets<String, List<String>> decoded = new HashTrie.Buckets<>();
+        byte[] scratch = new byte[256];
+
+        try {
+            for (int i = 0; i < entries; i++) {
+                int wordLength = block.getInt();
+                scratch = fill(block, scratch, wordLength);
+                String word = new String(scratch, 0, wordLength, StandardCharsets.UTF_8);
+
+                int position = block.position();
+                int definitionCount = block.getInt();
+                if (definitionCount < 0 || definitionCount > block.remaining() / Integer.BYTES) {
+                    throw corrupt();
+                }
+                if (mapped) {
+                    for (int j = 0; j < definitionCount; j++) {
+                        skip(block, block.getInt());
+                    }
+                    decoded.add(word, new MappedDefinitions(block, position));
+                    continue;
+                }
+                String[] definitions = new String[definitionCount];
+                for (int j = 0; j < definitionCount; j++) {
+                    int length = block.getInt();
+                    scratch = fill(block, scratch, length);
+                    definitions[j] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                }
+                decoded.add(word, Definitions.of(definitions));
+            }
+        } catch (BufferUnderflowException e) {
+            throw corrupt();
+        }
+        if (block.hasRemaining()) {
+            throw corrupt();
+        }
+        return decoded;
+    }
+
+    /***
+     * Copies the next bytes of a block into the scratch array, growing it if needed.
+     *
+     * @return the scratch array holding the bytes
+     */
+    private byte[] fill(ByteBuffer block, byte[] scratch, int length) throws IOException {
+        if (length < 0 || length > block.remaining()) {
+            throw corrupt();
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        block.get(scratch, 0, length);
+        return scratch;
+    }
+
+    private void skip(ByteBuffer block, int length) throws IOException {
+        if (length < 0 || length > block.remaining()) {
+            throw corrupt();
+        }
+        block.position(block.position() + length);
+    }
+
+    private IOException corrupt() {
+        return new IOException("Corrupt dictionary snapshot: " + snapshotFile.getName());
+    }
+}
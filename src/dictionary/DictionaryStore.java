@@ -0,0 +1,925 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import metrics.FilterMetrics;
+import metrics.LatencyHistogram;
+import server.RecordLog;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class DictionaryStore {
+
+    private final RecordLog recordLog;
+    private final String dictionaryFile;
+
+    // Server-wide internal memory of the dictionary, shared by all client connection threads: the latest version
+    // of a persistent trie, replaced by every mutation. Readers take a version without locking and keep reading it
+    // while newer versions are made. Every word's definitions are held as Definitions, which keep their encoded
+    // search reply
+    private final AtomicReference<HashTrie<String, List<String>>> dictionary;
+
+    // In disk storage mode, the definitions are left in the memory-mapped snapshot as MappedDefinitions, except for
+    // those changed since the snapshot was written, which move there on the next compaction
+    private final StorageMode storageMode;
+
+    // Mutations of a word are applied, indexed and queued for the log under the lock of the word's stripe, so the
+    // mutations of different words run in parallel while those of the same word stay in order. Readers never lock
+    private static final int LOCK_STRIPES = 256;
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    // Secondary indexes over the dictionary, updated under the same lock as the mutations they follow
+    private final PrefixIndex prefixIndex = new PrefixIndex();
+    private final FuzzyMatcher fuzzyMatcher = new FuzzyMatcher(prefixIndex);
+    private final InvertedIndex definitionIndex = new InvertedIndex();
+    private final List<DictionaryIndex> indexes = new ArrayList<>();
+
+    // Bloom filter of the words, so that the lookups of missing words rarely reach the trie: none until first built
+    // in the background, then rebuilt on every compaction and whenever the dictionary outgrows it. While a filter is
+    // built, the words added go to both the filter in use and the pending one. Words are added to the filter before
+    // they are published to the trie, so a word found in the trie is never rejected by the filter
+    private static final long MIN_FILTER_CAPACITY = 1024;
+    private final Object filterBuildLock = new Object();
+    private volatile WordFilter wordFilter;
+    private volatile WordFilter pendingFilter;
+    private final AtomicBoolean filterRebuilding = new AtomicBoolean(false);
+    private final FilterMetrics filterMetrics = new FilterMetrics();
+
+    // Told of every word updated or deleted, under the word's lock and once the new version is published
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    // The indexes are built in the background once the dictionary is loaded, and queries of them wait until then
+    private final CountDownLatch indexesBuilt = new CountDownLatch(1);
+
+    // Mutations are appended to the log in group-committed batches,
+    // and folded into a snapshot once the log grows past the threshold
+    private final MutationLog log;
+    private final GroupCommitter committer;
+    private final long compactionThreshold;
+    private final AtomicBoolean compacting = new AtomicBoolean(false);
+
+    // The snapshot restarts load from, written with the CSV file on every compaction
+    private final DictionarySnapshot snapshot;
+    private volatile boolean snapshotDue = false;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "dictionary-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final String COMMA_DELIMITER = ",";
+    private static final String SEMICOLON_DELIMITER = ";";
+
+    public static final String DEFAULT_DICTIONARY_FILENAME = "dictionary.csv";
+    private static final int NUMBER_OF_DICTIONARY_TOKENS_PER_LINE = 2;
+
+    private static final String SNAPSHOT_TEMP_SUFFIX = ".tmp";
+
+    /***
+     * Constructor for DictionaryStore.
+     * Loads the given dictionary file once into the shared internal server memory, then replays the mutations
+     * logged since that file was last written. If no compatible dictionary file is given, an empty dictionary
+     * file is created in the current directory.
+     *
+     * @param recordLog The log to record the store's activity to
+     * @param dictionaryFile The name of the CSV dictionary file in the root directory
+     * @param settings The settings for logging, group-committing and compacting mutations
+     * @throws IOException if the mutation log cannot be recovered
+     */
+    public DictionaryStore(RecordLog recordLog, String dictionaryFile, PersistenceSettings settings)
+            throws IOException {
+
+        this.recordLog = recordLog;
+        this.dictionaryFile = resolveDictionaryFile(dictionaryFile);
+        this.compactionThreshold = settings.getCompactionThreshold();
+        this.storageMode = settings.getStorageMode();
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+
+        this.snapshot = new DictionarySnapshot(this.dictionaryFile);
+        HashTrie.Builder<String, List<String>> loaded = (storageMode == StorageMode.DISK
+                                                          ? mapDictionary() : loadDictionary()).toBuilder();
+
+        this.log = new MutationLog(this.dictionaryFile);
+        int records = log.recover(loaded);
+        if (records > 0) {
+            recordLog.log("Replayed " + records + " logged mutation(s) onto the dictionary.");
+        }
+        this.dictionary = new AtomicReference<>(loaded.build());
+
+        indexes.add(prefixIndex);
+        if (storageMode == StorageMode.MEMORY) {
+            // The postings of every term would take many times the heap of the words, which disk storage mode saves
+            indexes.add(definitionIndex);
+        }
+        Thread indexer = new Thread(() -> {
+            buildWordFilter();
+            buildIndexes();
+        }, "dictionary-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+
+        this.committer = new GroupCommitter(log, settings.getBatchSize(), settings.getMaxWaitMillis(),
+                                            settings.getDurabilityMode(), settings.getSyncIntervalMillis());
+
+        maybeCompact();
+    }
+
+    /***
+     * Loads the binary snapshot of the dictionary if it is at least as recent as the CSV file, and imports the
+     * CSV file otherwise (or if the snapshot cannot be read), scheduling a snapshot of what it imported.
+     *
+     * @return the dictionary, holding every word's definitions as Definitions
+     */
+    private HashTrie<String, List<String>> loadDictionary() {
+
+        File csvFile = new File(System.getProperty("user.dir") + File.separator + dictionaryFile);
+
+        if (snapshot.isCurrent(csvFile)) {
+            try {
+                long start = System.nanoTime();
+                HashTrie<String, List<String>> loaded = snapshot.load();
+                recordLog.log("Loaded " + loaded.size() + " word(s) from the snapshot of " + dictionaryFile +
+                                      " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+                return loaded;
+            } catch (IOException e) {
+                recordLog.log("Error reading the snapshot of " + dictionaryFile + ". Importing the CSV file.");
+            }
+        }
+
+        HashTrie<String, List<String>> imported;
+        try {
+            long start = System.nanoTime();
+            imported = new CsvImporter(dictionaryFile).load();
+            recordLog.log("Loaded " + imported.size() + " word(s) from " + dictionaryFile + " in " +
+                                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+        } catch (NoSuchFileException e) {
+            recordLog.log("Error file not found.");
+            imported = HashTrie.empty();
+        } catch (IOException e) {
+            recordLog.log("Error reading file.");
+            imported = HashTrie.empty();
+        }
+
+        snapshotDue = true;
+        return imported;
+    }
+
+    /***
+     * Maps the binary snapshot of the dictionary, leaving the definitions in the snapshot file. If the snapshot is
+     * older than the CSV file (or cannot be read), the CSV file is first converted into a new snapshot entry by
+     * entry, so that the dictionary is never held whole on the heap.
+     *
+     * @return the dictionary, holding every word's definitions as MappedDefinitions
+     */
+    private HashTrie<String, List<String>> mapDictionary() {
+
+        File csvFile = new File(System.getProperty("user.dir") + File.separator + dictionaryFile);
+
+        if (snapshot.isCurrent(csvFile)) {
+            try {
+                return mapSnapshot();
+            } catch (IOException e) {
+                recordLog.log("Error reading the snapshot of " + dictionaryFile + ". Converting the CSV file.");
+            }
+        }
+
+        try {
+            long start = System.nanoTime();
+            long entries;
+            try (DictionarySnapshot.Writer writer = snapshot.writer()) {
+                new CsvImporter(dictionaryFile).forEach((word, definitions) -> {
+                    try {
+                        writer.add(word, definitions);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                entries = writer.commit();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            recordLog.log("Converted " + entries + " line(s) of " + dictionaryFile + " into its snapshot in " +
+                                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+            return mapSnapshot();
+        } catch (NoSuchFileException e) {
+            recordLog.log("Error file not found.");
+        } catch (IOException e) {
+            recordLog.log("Error reading file.");
+        }
+        return HashTrie.empty();
+    }
+
+    private HashTrie<String, List<String>> mapSnapshot() throws IOException {
+        long start = System.nanoTime();
+        HashTrie<String, List<String>> mapped = snapshot.map();
+        recordLog.log("Mapped " + mapped.size() + " word(s) from the snapshot of " + dictionaryFile + " in " +
+                              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+        return mapped;
+    }
+
+    /***
+     * Builds a filter of the words sized for twice the words of the dictionary, and puts it in place of the
+     * filter in use, forgetting the words deleted since that one was built.
+     *
+     * The new filter is first made pending, so that every word added from then on is added to it too, and every
+     * stripe is then locked once, so that the adds already holding a stripe have published their word before the
+     * current version of the dictionary is taken. Every word of that version is added to the new filter, which
+     * therefore holds every word of the dictionary once it is put in place.
+     */
+    private void buildWordFilter() {
+        synchronized (filterBuildLock) {
+            long start = System.nanoTime();
+            WordFilter built = new WordFilter(Math.max(2L * size(), MIN_FILTER_CAPACITY));
+            pendingFilter = built;
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+                stripe.unlock();
+            }
+            HashTrie<String, List<String>> version = dictionary.get();
+            version.forEach((word, definitions) -> built.add(word));
+            wordFilter = built;
+            pendingFilter = null;
+            recordLog.log("Built the word filter of " + version.size() + " word(s) in " +
+                                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+        }
+    }
+
+    /***
+     * Schedules a background rebuild of the word filter if the dictionary has grown past the words it was sized
+     * for, and no rebuild is already scheduled.
+     */
+    private void maybeRebuildWordFilter() {
+        WordFilter filter = wordFilter;
+        if (filter != null && size() > filter.capacity() && filterRebuilding.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    buildWordFilter();
+                } finally {
+                    filterRebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /***
+     * Adds a word to the filter in use, and to the filter being built if any. Called under the word's lock,
+     * before the word is published to the trie.
+     */
+    private void filterAdded(String word) {
+        // The pending filter is read first: it is only cleared once the filter it becomes is in use
+        WordFilter pending = pendingFilter;
+        WordFilter filter = wordFilter;
+        if (pending != null) {
+            pending.add(word);
+        }
+        if (filter != null && filter != pending) {
+            filter.add(word);
+        }
+    }
+
+    /***
+     * Adds every word of the loaded dictionary to the indexes, while the store already serves requests.
+     *
+     * Each word is indexed under the lock of its stripe with its definitions at that moment, so that it is indexed
+     * either before or after any concurrent mutation of it, whose own index update then keeps it in step.
+     * Adding a word to an index that already holds it changes nothing.
+     */
+    private void buildIndexes() {
+        long start = System.nanoTime();
+        HashTrie<String, List<String>> loaded = dictionary.get();
+        for (String word : loaded.keySet()) {
+            ReentrantLock lock = stripeOf(word);
+            lock.lock();
+            try {
+                List<String> definitions = get(word);
+                if (definitions != null) {
+                    indexAdded(word, definitions);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        indexesBuilt.countDown();
+        recordLog.log("Indexed " + loaded.size() + " word(s) in " +
+                              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms.");
+    }
+
+    private static int stripeIndex(String word) {
+        int hash = word.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    private ReentrantLock stripeOf(String word) {
+        return stripes[stripeIndex(word)];
+    }
+
+    private void awaitIndexes() {
+        try {
+            indexesBuilt.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /***
+     * Ensures the dictionary file to be used is a CSV file that exists in the root directory.
+     * Falls back to (and creates, if needed) the default dictionary file otherwise.
+     *
+     * @param fileName the name of the dictionary file given to the server
+     * @return the name of the dictionary file the store will read from and write to
+     */
+    private String resolveDictionaryFile(String fileName) {
+
+        if (!fileName.isEmpty() && !fileName.endsWith(".csv")) {
+            recordLog.log("Incompatible dictionary file format (" + fileName +
+                                  "). Server only accepts .csv files.");
+        }
+
+        if (fileName.isEmpty() || !fileName.endsWith(".csv")) {
+            fileName = DEFAULT_DICTIONARY_FILENAME;
+        }
+
+        File file = new File(System.getProperty("user.dir") + File.separator + fileName);
+        try {
+            if (file.createNewFile()) {
+                recordLog.log("Created an empty dictionary file (CSV) " +
+                                      "in current directory: " + fileName);
+            }
+        } catch (IOException e) {
+            recordLog.log("Error creating dictionary file.");
+        }
+
+        return fileName;
+    }
+
+    /***
+     * @return the name of the dictionary file backing this store
+     */
+    public String getDictionaryFile() {
+        return dictionaryFile;
+    }
+
+    /***
+     * @return whether the definitions are held on the heap or read from the memory-mapped snapshot
+     */
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /***
+     * @return the number of words currently in the dictionary
+     */
+    public int size() {
+        return dictionary.get().size();
+    }
+
+    /***
+     * Takes the current version of the whole dictionary, in constant time and without locking. The version never
+     * changes, however long it is kept and read, while mutations keep making newer versions.
+     *
+     * @return Map of every word to its definitions, as Definitions, which cannot be modified
+     */
+    public Map<String, List<String>> version() {
+        return dictionary.get();
+    }
+
+    /***
+     * Registers a listener called with every word whose definitions are replaced or removed, such as a cache of
+     * the replies to searches. The listener is called while the word's lock is held, after the new version of
+     * the dictionary is published, so it must be quick and must not mutate the store.
+     *
+     * @param listener Consumer of the updated or deleted word
+     */
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    /***
+     * @return the metrics of the filter answering the lookups of missing words
+     */
+    public FilterMetrics getFilterMetrics() {
+        return filterMetrics;
+    }
+
+    /***
+     * @return the histogram of the time taken by each batch of mutations to be committed to the log
+     */
+    public LatencyHistogram getCommitTimes() {
+        return committer.getCommitTimes();
+    }
+
+    /***
+     * Looks up the definitions of a word in the internal server memory, for a client's search.
+     * A word rejected by the word filter is known to be missing without looking it up. The lookups of missing
+     * words are counted in the filter metrics, which {@link #get(String)} leaves alone.
+     *
+     * @param word String containing the word to be searched for
+     * @return the list of the word's definitions, as Definitions, or null if the word does not exist
+     */
+    public List<String> search(String word) {
+        WordFilter filter = wordFilter;
+        if (filter != null && !filter.mightContain(word)) {
+            filterMetrics.rejected();
+            return null;
+        }
+        List<String> definitions = dictionary.get().get(word);
+        if (definitions == null && filter != null) {
+            filterMetrics.falsePositive();
+        }
+        return definitions;
+    }
+
+    /***
+     * Looks up the definitions of a word like {@link #search(String)}, but without counting the lookup in the
+     * filter metrics, for the store's own mutations and the checks made by caches of its replies.
+     *
+     * @param word String containing the word to be looked up
+     * @return the list of the word's definitions, as Definitions, or null if the word does not exist
+     */
+    public List<String> get(String word) {
+        WordFilter filter = wordFilter;
+        if (filter != null && !filter.mightContain(word)) {
+            return null;
+        }
+        return dictionary.get().get(word);
+    }
+
+    /***
+     * Finds the words of the dictionary starting with a prefix, in alphabetical order.
+     * Waits for the indexes to be built if the store was only just opened.
+     *
+     * @param prefix String the words start with
+     * @param limit the maximum number of words returned
+     * @return up to limit words starting with the prefix
+     */
+    public List<String> wordsStartingWith(String prefix, int limit) {
+        awaitIndexes();
+        return prefixIndex.startingWith(prefix, limit);
+    }
+
+    /***
+     * Finds the words of the dictionary within an edit distance of a (possibly misspelled) word.
+     * Waits for the indexes to be built if the store was only just opened.
+     *
+     * @param word String to find the closest words to
+     * @param maxDistance the largest edit distance between the word and a match
+     * @param limit the maximum number of words returned
+     * @return up to limit words within maxDistance of the word, closest first
+     */
+    public List<String> wordsCloseTo(String word, int maxDistance, int limit) {
+        awaitIndexes();
+        return fuzzyMatcher.closeTo(word, maxDistance, limit);
+    }
+
+    /***
+     * Finds the words of the dictionary having definitions that contain every term of a query.
+     * Waits for the indexes to be built if the store was only just opened. In disk storage mode the definitions
+     * are not indexed, and reading every word's definitions from the disk instead would take each query as long as
+     * a whole scan of the snapshot, so finding is refused.
+     *
+     * @param query String of the terms to look for
+     * @param limit the maximum number of words returned
+     * @return up to limit words whose definitions contain all of the terms
+     * @throws UnsupportedOperationException if the store keeps its definitions on disk
+     */
+    public List<String> wordsDefinedBy(String query, int limit) {
+        if (storageMode == StorageMode.DISK) {
+            throw new UnsupportedOperationException("Definitions are not indexed in disk storage mode.");
+        }
+        awaitIndexes();
+        return definitionIndex.containingAll(query, limit);
+    }
+
+    /***
+     * Adds a word and its definitions if the word does not already exist.
+     * Returns once the mutation is durable in the log.
+     *
+     * @param word String containing the word to be added
+     * @param definitions List of String definitions of the word
+     * @return true if the word was added, false if it already exists
+     * @throws IOException if the mutation cannot be logged
+     */
+    public boolean add(String word, List<String> definitions) throws IOException {
+        Definitions stored = Definitions.of(definitions);
+        byte[] record = MutationLog.putRecord(word, stored);
+        CompletableFuture<Void> durable;
+        ReentrantLock lock = stripeOf(word);
+        lock.lock();
+        try {
+            if (get(word) != null) {
+                return false;
+            }
+            filterAdded(word);
+            dictionary.updateAndGet(version -> version.with(word, stored));
+            indexAdded(word, stored);
+            durable = committer.submit(record);
+        } finally {
+            lock.unlock();
+        }
+        GroupCommitter.await(durable);
+        maybeCompact();
+        maybeRebuildWordFilter();
+        return true;
+    }
+
+    /***
+     * Replaces the definitions of a word if the word exists.
+     * Returns once the mutation is durable in the log.
+     *
+     * @param word String containing the word to be updated
+     * @param definitions List of String definitions to replace the existing ones
+     * @return true if the word was updated, false if it does not exist
+     * @throws IOException if the mutation cannot be logged
+     */
+    public boolean update(String word, List<String> definitions) throws IOException {
+        Definitions stored = Definitions.of(definitions);
+        byte[] record = MutationLog.putRecord(word, stored);
+        CompletableFuture<Void> durable;
+        ReentrantLock lock = stripeOf(word);
+        lock.lock();
+        try {
+            List<String> oldDefinitions = get(word);
+            if (oldDefinitions == null) {
+                return false;
+            }
+            dictionary.updateAndGet(version -> version.with(word, stored));
+            indexUpdated(word, oldDefinitions, stored);
+            notifyChanged(word);
+            durable = committer.submit(record);
+        } finally {
+            lock.unlock();
+        }
+        GroupCommitter.await(durable);
+        maybeCompact();
+        return true;
+    }
+
+    /***
+     * Removes a word and its definitions if the word exists.
+     * Returns once the mutation is durable in the log.
+     *
+     * @param word String containing the word to be deleted
+     * @return true if the word was deleted, false if it does not exist
+     * @throws IOException if the mutation cannot be logged
+     */
+    public boolean delete(String word) throws IOException {
+        byte[] record = MutationLog.deleteRecord(word);
+        CompletableFuture<Void> durable;
+        ReentrantLock lock = stripeOf(word);
+        lock.lock();
+        try {
+            List<String> oldDefinitions = get(word);
+            if (oldDefinitions == null) {
+                return false;
+            }
+            dictionary.updateAndGet(version -> version.without(word));
+            indexRemoved(word, oldDefinitions);
+            notifyChanged(word);
+            durable = committer.submit(record);
+        } finally {
+            lock.unlock();
+        }
+        GroupCommitter.await(durable);
+        maybeCompact();
+        return true;
+    }
+
+    /***
+     * Applies a batch of mutations in order, each succeeding or failing on its own like the single-word
+     * add, update and delete. The records of the successful mutations are appended to the log with a single
+     * write, and this method returns once they are all durable.
+     *
+     * The stripes of every word in the batch are locked, in ascending order, until the batch is queued for the
+     * log, so that no other mutation of these words can be logged between one of the batch's and its record.
+     *
+     * @param mutations the mutations to apply, in order
+     * @return for each mutation, true if it was applied, false if its word already existed (add)
+     *         or did not exist (update, delete)
+     * @throws IOException if the mutations cannot be logged
+     */
+    public boolean[] applyAll(List<BatchMutation> mutations) throws IOException {
+
+        boolean[] applied = new boolean[mutations.size()];
+        byte[][] records = new byte[mutations.size()][];
+
+        for (int i = 0; i < mutations.size(); i++) {
+            BatchMutation mutation = mutations.get(i);
+            records[i] = mutation.getKind() == BatchMutation.Kind.DELETE
+                         ? MutationLog.deleteRecord(mutation.getWord())
+                         : MutationLog.putRecord(mutation.getWord(), mutation.getDefinitions());
+        }
+
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        CompletableFuture<Void> durable = null;
+
+        int[] locked = mutations.stream().mapToInt(mutation -> stripeIndex(mutation.getWord()))
+                                .distinct().sorted().toArray();
+        for (int stripe : locked) {
+            stripes[stripe].lock();
+        }
+        try {
+            for (int i = 0; i < mutations.size(); i++) {
+                BatchMutation mutation = mutations.get(i);
+                String word = mutation.getWord();
+                List<String> definitions = mutation.getKind() == BatchMutation.Kind.DELETE
+                                           ? null : Definitions.of(mutation.getDefinitions());
+                List<String> oldDefinitions;
+                switch (mutation.getKind()) {
+                    case ADD:
+                        applied[i] = get(word) == null;
+                        if (applied[i]) {
+                            filterAdded(word);
+                            dictionary.updateAndGet(version -> version.with(word, definitions));
+                            indexAdded(word, definitions);
+                        }
+                        break;
+                    case UPDATE:
+                        oldDefinitions = get(word);
+                        applied[i] = oldDefinitions != null;
+                        if (applied[i]) {
+                            dictionary.updateAndGet(version -> version.with(word, definitions));
+                            indexUpdated(word, oldDefinitions, definitions);
+                            notifyChanged(word);
+                        }
+                        break;
+                    case DELETE:
+                        oldDefinitions = get(word);
+                        applied[i] = oldDefinitions != null;
+                        if (applied[i]) {
+                            dictionary.updateAndGet(version -> version.without(word));
+                            indexRemoved(word, oldDefinitions);
+                            notifyChanged(word);
+                        }
+                        break;
+                }
+                if (applied[i]) {
+                    batch.write(records[i], 0, records[i].length);
+                }
+            }
+            if (batch.size() > 0) {
+                durable = committer.submit(batch.toByteArray());
+            }
+        } finally {
+            for (int i = locked.length - 1; i >= 0; i--) {
+                stripes[locked[i]].unlock();
+            }
+        }
+
+        if (durable != null) {
+            GroupCommitter.await(durable);
+            maybeCompact();
+            maybeRebuildWordFilter();
+        }
+        return applied;
+    }
+
+    private void indexAdded(String word, List<String> definitions) {
+        for (DictionaryIndex index : indexes) {
+            index.added(word, definitions);
+        }
+    }
+
+    private void indexUpdated(String word, List<String> oldDefinitions, List<String> newDefinitions) {
+        for (DictionaryIndex index : indexes) {
+            index.updated(word, oldDefinitions, newDefinitions);
+        }
+    }
+
+    private void indexRemoved(String word, List<String> oldDefinitions) {
+        for (DictionaryIndex index : indexes) {
+            index.removed(word, oldDefinitions);
+        }
+    }
+
+    private void notifyChanged(String word) {
+        for (Consumer<String> listener : changeListeners) {
+            listener.accept(word);
+        }
+    }
+
+    /***
+     * Schedules a background compaction if the mutation log has grown past the threshold (or a previous
+     * compaction was interrupted, or the dictionary was imported from the CSV file and has no snapshot yet)
+     * and no compaction is already running.
+     */
+    private void maybeCompact() {
+        if ((log.size() >= compactionThreshold || log.hasRotated() || snapshotDue)
+                && compacting.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    /***
+     * Folds the mutation log into a fresh snapshot of the dictionary, exporting it to the CSV file first.
+     *
+     * The log is rotated first so that new mutations keep being appended while the snapshot is written. This needs
+     * no store lock: every record in the rotated log belongs to a mutation already applied to the dictionary, and
+     * so to the snapshot, while the records of each word stay in order across the two logs.
+     * The CSV file and the snapshot are each written to a temporary file and moved over the previous one, the
+     * snapshot last so that it is the more recent of the two, and the rotated log is only discarded once the
+     * snapshot is in place. A crash at any point leaves a CSV file or snapshot that, with the logs replayed over
+     * it, holds the whole dictionary.
+     */
+    private void compact() {
+        try {
+            log.rotate();
+
+            String root = System.getProperty("user.dir");
+            String tempFile = dictionaryFile + SNAPSHOT_TEMP_SUFFIX;
+
+            // The CSV file and the snapshot are both written from the same version of the dictionary
+            HashTrie<String, List<String>> version = dictionary.get();
+
+            if (writeHashMapToCsv(version, tempFile)) {
+                Files.move(Paths.get(root, tempFile), Paths.get(root, dictionaryFile),
+                           StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            long entries = snapshot.write(version);
+            snapshotDue = false;
+            log.discardRotated();
+            recordLog.log("Compacted the mutation log into a snapshot of " + entries + " word(s) and " +
+                                  dictionaryFile + ".");
+
+            if (storageMode == StorageMode.DISK) {
+                remapDefinitions(version);
+            }
+            buildWordFilter();
+        } catch (IOException e) {
+            recordLog.log("Error compacting the mutation log.");
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    /***
+     * Moves every word's definitions to the snapshot just written from the given version, so that the definitions
+     * changed since the previous snapshot leave the heap, and the previous snapshot file is unmapped once nothing
+     * reads it any more.
+     *
+     * Each word is moved under the lock of its stripe, and only if it still has the definitions it was written
+     * with; a word changed since keeps its newer definitions until the next compaction. The definitions moved are
+     * the same text, so the indexes are left as they are.
+     *
+     * Every word is looked up and replaced in the trie, so this takes about as long as mapping the snapshot on
+     * startup, once per compaction. The new snapshot is moved over the file still mapped by the previous
+     * definitions, which POSIX file systems allow but Windows refuses: there, compaction fails and the mutation
+     * log keeps growing, so disk storage mode is not supported on Windows.
+     *
+     * @param written the version of the dictionary the snapshot was written from
+     * @throws IOException if the snapshot cannot be mapped
+     */
+    private void remapDefinitions(HashTrie<String, List<String>> written) throws IOException {
+        snapshot.map().forEach((word, definitions) -> {
+            List<String> writtenDefinitions = written.get(word);
+            ReentrantLock lock = stripeOf(word);
+            lock.lock();
+            try {
+                if (get(word) == writtenDefinitions) {
+                    dictionary.updateAndGet(version -> version.with(word, definitions));
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /***
+     * Writes every queued mutation, waits for any running compaction to finish and closes the mutation log.
+     */
+    public void close() {
+        committer.close();
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            recordLog.log("Error closing the mutation log.");
+        }
+    }
+
+    /***
+     * Reads a CSV file in the root directory, whose lines contain a String for the word, and a String
+     * for its definition(s) that is separated by semicolons (;) if there are multiple definitions,
+     * into a HashMap to be used as the internal server memory of the dictionary.
+     * The store itself imports its CSV file in parallel with {@link CsvImporter}, which follows the same rules.
+     *
+     * @param fileName the name of the dictionary file in the root directory of the project files
+     * @return HashMap containing the dictionary String entries and the list of its String definitions
+     */
+    public HashMap<String, List<String>> readCSVToHashMap(String fileName) {
+
+        HashMap<String, List<String>> dictionary = null;
+
+        // Reads the CSV dictionary file where the first token is the word
+        // and the second token is the word's definitions separated by semicolons
+        String root = System.getProperty("user.dir");
+        String filePath = root + File.separator + fileName;
+
+        try (BufferedReader in = new BufferedReader(new FileReader(filePath))) {
+
+            // Store word as key and the list of its meanings as its value
+            dictionary = new HashMap<>();
+
+            String line;
+
+            // Each comma-separated line constitutes a word and its definitions separated by semicolons
+            while ((line = in.readLine()) != null) {
+
+                List<String> wordDetails = Arrays.asList(line.split(COMMA_DELIMITER));
+
+                // Ignore incorrectly formatted lines
+                if (wordDetails.size() == NUMBER_OF_DICTIONARY_TOKENS_PER_LINE) {
+
+                    // All words are case-insensitive and become lower-cased
+                    String word = wordDetails.get(0).toLowerCase();
+
+                    // Ignore lines with empty words
+                    if (!word.equals("")) {
+                        List<String> definitions = Arrays.asList(wordDetails.get(1).split(SEMICOLON_DELIMITER));
+
+                        // Ignore lines with empty definitions
+                        if (!definitions.isEmpty()) {
+
+                            // Add entry if a new word is encountered in file,
+                            // Replace definitions if an existing word is encountered in file
+                            if (dictionary.containsKey(word)) {
+                                dictionary.replace(word, definitions);
+                            } else {
+                                dictionary.put(word, definitions);
+                            }
+                        }
+                    }
+                }
+            }
+
+        } catch (FileNotFoundException e) {
+            recordLog.log("Error file not found.");
+        } catch (IOException e) {
+            recordLog.log("Error reading file.");
+        }
+
+        return dictionary;
+    }
+
+    /***
+     * Writes the HashMap word-definition(s) entries corresponding to the internal server memory of the dictionary
+     * to a file in the root directory with a given filename.
+     *
+     * Each entry is written as a comma-separated line, where the first value is the String word (key) and
+     * the second is a single String containing the concatenated definitions (value)
+     * of the word, separated by semicolons (;).
+     *
+     * @param dictionary Map containing String words as keys and List of String definitions
+     * @param fileName the name of the dictionary file in the root directory of the project files
+     * @return true if the whole dictionary was written, false otherwise
+     */
+    public boolean writeHashMapToCsv(Map<String, List<String>> dictionary, String fileName) {
+
+        String root = System.getProperty("user.dir");
+        String filePath = root + File.separator + fileName;
+
+        try (FileWriter out = new FileWriter(filePath)) {
+
+            for (Map.Entry<String, List<String>> entry : dictionary.entrySet()) {
+                List<String> definitions = entry.getValue();
+                String singleDefinitionString = definitions.stream().reduce((definition1, definition2) -> definition1 +
+                                                SEMICOLON_DELIMITER + definition2).get();
+                out.write(entry.getKey() + COMMA_DELIMITER + singleDefinitionString + "" + "\n");
+            }
+
+            out.flush();
+            return true;
+        } catch (Exception e) {
+            recordLog.log("Error writing to the dictionary.");
+            return false;
+        }
+
+    }
+}
@@ -0,0 +1,37 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+/***
+ * How far a batch of logged mutations is pushed towards the disk before its clients are answered.
+ */
+public enum DurabilityMode {
+
+    // Every batch is forced onto the disk
+    SYNC,
+
+    // Every batch is handed to the operating system, and the log is forced onto the disk every N milliseconds
+    INTERVAL,
+
+    // Every batch is handed to the operating system, which decides when it reaches the disk
+    BUFFERED;
+
+    /***
+     * Parses the durability mode given as a server command line option.
+     *
+     * @param option the option value, case-insensitive (sync, interval or buffered)
+     * @return the matching durability mode, or null if there is none
+     */
+    public static DurabilityMode fromOption(String option) {
+        for (DurabilityMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(option)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
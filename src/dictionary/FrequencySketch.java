@@ -0,0 +1,108 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+/***
+ * Approximate count of how often every key was recently accessed, used by {@link TinyLfuCache} to decide which
+ * of two keys is the more popular.
+ *
+ * The sketch is a count-min sketch of 4-bit counters, 16 of them packed in each long. A key is counted in 4 of
+ * the counters of one long, picked by 4 hashes of the key, and its frequency is the smallest of them. Once the
+ * sketch has counted 10 accesses per long, every counter is halved, so that keys which used to be popular fade
+ * away. The sketch is not thread-safe.
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    private static final int MAX_COUNT = 15;
+    private static final int MAX_TABLE_SIZE = 1 << 24;
+    private static final int SAMPLE_FACTOR = 10;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /***
+     * Constructor for FrequencySketch.
+     *
+     * @param expectedKeys the number of keys expected to be held by the cache
+     */
+    FrequencySketch(long expectedKeys) {
+        int tableSize = Integer.highestOneBit((int) Math.max(16, Math.min(expectedKeys, MAX_TABLE_SIZE)) - 1) << 1;
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = SAMPLE_FACTOR * tableSize;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private int indexOf(int hash, int row) {
+        long index = (hash + SEEDS[row]) * SEEDS[row];
+        index += index >>> 32;
+        return (int) index & tableMask;
+    }
+
+    /***
+     * @param key the key to look up
+     * @return the approximate number of recent accesses to the key, from 0 to 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < 4; row++) {
+            int shift = (start + row) << 2;
+            int count = (int) ((table[indexOf(hash, row)] >>> shift) & MAX_COUNT);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /***
+     * Counts an access to a key, halving every counter once enough accesses have been counted.
+     *
+     * @param key the key accessed
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            added |= incrementAt(indexOf(hash, row), start + row);
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int shift = counter << 2;
+        long mask = (long) MAX_COUNT << shift;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << shift;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = (additions >>> 1) - (odd >>> 2);
+    }
+}
@@ -0,0 +1,129 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/***
+ * Answers "did you mean" queries: the words within a Levenshtein (edit) distance of a possibly misspelled word.
+ *
+ * The ordered words of the prefix index are walked as if they were a trie, one seek per distinct prefix,
+ * carrying one row of the edit distance matrix between the query and the current prefix. A prefix whose row
+ * is entirely beyond the maximum distance cannot lead to a match, so the walk only visits the few prefixes
+ * still close to the query instead of every word, and needs no storage of its own beyond the prefix index,
+ * which already follows every add and delete.
+ */
+public class FuzzyMatcher {
+
+    private static class Match {
+        final String word;
+        final int distance;
+
+        Match(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+    }
+
+    private final PrefixIndex words;
+
+    /***
+     * Constructor for FuzzyMatcher.
+     *
+     * @param words the ordered index of the words to match against
+     */
+    public FuzzyMatcher(PrefixIndex words) {
+        this.words = words;
+    }
+
+    /***
+     * Finds the words within an edit distance of a word, closest first and then in alphabetical order.
+     *
+     * @param word the (possibly misspelled) word to match
+     * @param maxDistance the largest number of single-character insertions, deletions and substitutions
+     *                    between the word and a match
+     * @param limit the maximum number of words returned
+     * @return up to limit words within maxDistance of the word
+     */
+    public List<String> closeTo(String word, int maxDistance, int limit) {
+
+        // The edit distances between the empty prefix and every prefix of the word
+        int[] row = new int[word.length() + 1];
+        for (int j = 0; j <= word.length(); j++) {
+            row[j] = j;
+        }
+
+        List<Match> matches = new ArrayList<>();
+        String first = words.ceiling("");
+        if (first != null) {
+            walk("", first, row, word, maxDistance, matches);
+        }
+
+        matches.sort(Comparator.<Match>comparingInt(match -> match.distance).thenComparing(match -> match.word));
+
+        List<String> closest = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            closest.add(matches.get(i).word);
+        }
+        return closest;
+    }
+
+    /***
+     * Visits every word starting with the prefix whose row of distances to the query is given.
+     * The first word starting with the prefix is passed down, as it is already known when the prefix is reached.
+     */
+    private void walk(String prefix, String first, int[] row, String word, int maxDistance, List<Match> matches) {
+
+        String next = first;
+
+        if (next.equals(prefix)) {
+            if (row[word.length()] <= maxDistance) {
+                matches.add(new Match(prefix, row[word.length()]));
+            }
+            next = words.ceiling(prefix + Character.MIN_VALUE);
+        }
+
+        // Each distinct character following the prefix is a branch of the trie
+        while (next != null && next.startsWith(prefix) && next.length() > prefix.length()) {
+
+            char c = next.charAt(prefix.length());
+            int[] childRow = nextRow(row, c, word);
+
+            if (min(childRow) <= maxDistance) {
+                walk(prefix + c, next, childRow, word, maxDistance, matches);
+            }
+
+            if (c == Character.MAX_VALUE) {
+                break;
+            }
+            next = words.ceiling(prefix + (char) (c + 1));
+        }
+    }
+
+    /***
+     * @return the edit distances between the prefix extended by c and every prefix of the word
+     */
+    private static int[] nextRow(int[] row, char c, String word) {
+        int[] next = new int[row.length];
+        next[0] = row[0] + 1;
+        for (int j = 1; j < row.length; j++) {
+            int substitution = row[j - 1] + (word.charAt(j - 1) == c ? 0 : 1);
+            next[j] = Math.min(substitution, Math.min(row[j], next[j - 1]) + 1);
+        }
+        return next;
+    }
+
+    private static int min(int[] row) {
+        int min = row[0];
+        for (int distance : row) {
+            min = Math.min(min, distance);
+        }
+        return min;
+    }
+}
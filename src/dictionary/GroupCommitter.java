@@ -0,0 +1,253 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Single writer that gathers the mutations queued by all client connection threads into batches,
+ * appends each batch to the mutation log with one write, and makes it durable with (at most) one sync.
+ *
+ * Records are written in the order they are queued, and every caller is released only once the batch
+ * holding its record has been made as durable as the {@link DurabilityMode} requires.
+ */
+public class GroupCommitter implements Runnable {
+
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 0;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 100;
+
+    private final MutationLog log;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final DurabilityMode durabilityMode;
+    private final long syncIntervalNanos;
+
+    private final LinkedBlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    // Time taken by each batch to be written and made as durable as required
+    private final LatencyHistogram commitTimes = new LatencyHistogram();
+
+    private volatile boolean running = true;
+    private boolean unsynced = false;
+    private long lastSync = System.nanoTime();
+
+    /***
+     * A record waiting to be written, and the future completed once it is durable.
+     */
+    private static class PendingRecord {
+        private final byte[] record;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        private PendingRecord(byte[] record) {
+            this.record = record;
+        }
+    }
+
+    /***
+     * Constructor for GroupCommitter. Starts the writer thread.
+     *
+     * @param log The opened mutation log to append batches to
+     * @param batchSize The maximum number of records written in one batch
+     * @param maxWaitMillis How long the writer waits for more records to fill a batch before writing it
+     * @param durabilityMode How far each batch is pushed towards the disk before its callers are released
+     * @param syncIntervalMillis How often the log is forced onto the disk in {@link DurabilityMode#INTERVAL} mode
+     */
+    public GroupCommitter(MutationLog log, int batchSize, long maxWaitMillis,
+                          DurabilityMode durabilityMode, long syncIntervalMillis) {
+
+        this.log = log;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        this.durabilityMode = durabilityMode;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, syncIntervalMillis));
+
+        this.writer = new Thread(this, "dictionary-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /***
+     * Queues an encoded record to be written in the next batch. The order in which records are queued
+     * is the order in which they are written, so callers must queue under the same lock as their mutation.
+     *
+     * @param record the record encoded by the mutation log
+     * @return the future completed once the record is durable
+     */
+    public CompletableFuture<Void> submit(byte[] record) {
+        PendingRecord pending = new PendingRecord(record);
+        if (!running) {
+            pending.durable.completeExceptionally(new IOException("Mutation log is closed."));
+            return pending.durable;
+        }
+        queue.add(pending);
+
+        // close() may have drained the queue for the last time between the check above and adding the record, so
+        // the record is failed here unless the writer or close() has already taken it off the queue
+        if (!running && queue.remove(pending)) {
+            pending.durable.completeExceptionally(new IOException("Mutation log is closed."));
+        }
+        return pending.durable;
+    }
+
+    /***
+     * Blocks until a queued record is durable.
+     *
+     * @param durable the future returned by {@link #submit(byte[])}
+     * @throws IOException if the batch holding the record could not be written
+     */
+    public static void await(CompletableFuture<Void> durable) throws IOException {
+        try {
+            durable.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException
+                  ? (IOException) e.getCause()
+                  : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the mutation log.", e);
+        }
+    }
+
+    /***
+     * The run function of the writer thread.
+     */
+    @Override
+    public void run() {
+
+        List<PendingRecord> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(syncIntervalNanos, TimeUnit.NANOSECONDS);
+
+                if (first == null) {
+                    // An idle log still gets its pending writes forced onto the disk on time
+                    if (durabilityMode == DurabilityMode.INTERVAL && unsynced) {
+                        try {
+                            syncLog();
+                        } catch (IOException e) {
+                            // Retried on the next interval
+                        }
+                    }
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+
+                linger(batch);
+                commit(batch);
+
+            } catch (InterruptedException e) {
+                // Woken up by close() while idle; the loop drains whatever is still queued
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /***
+     * Optionally waits up to the maximum wait for more concurrent writers to join the batch. The records taken
+     * off the queue must be committed, so being woken up by close() only cuts the wait short.
+     */
+    private void linger(List<PendingRecord> batch) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < batchSize && maxWaitNanos > 0) {
+            long remaining = deadline - System.nanoTime();
+            PendingRecord next;
+            try {
+                next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    /***
+     * Writes a batch with a single flush and releases its callers once it is as durable as required.
+     */
+    private void commit(List<PendingRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            for (PendingRecord pending : batch) {
+                log.append(pending.record);
+            }
+
+            switch (durabilityMode) {
+                case SYNC:
+                    syncLog();
+                    break;
+                case INTERVAL:
+                    log.flush();
+                    unsynced = true;
+                    if (System.nanoTime() - lastSync >= syncIntervalNanos) {
+                        syncLog();
+                    }
+                    break;
+                case BUFFERED:
+                    log.flush();
+                    break;
+            }
+
+            commitTimes.record(System.nanoTime() - start);
+            for (PendingRecord pending : batch) {
+                pending.durable.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (PendingRecord pending : batch) {
+                pending.durable.completeExceptionally(e);
+            }
+        }
+    }
+
+    /***
+     * @return the histogram of the time taken by each batch to be written and made durable
+     */
+    public LatencyHistogram getCommitTimes() {
+        return commitTimes;
+    }
+
+    private void syncLog() throws IOException {
+        log.sync();
+        unsynced = false;
+        lastSync = System.nanoTime();
+    }
+
+    /***
+     * Stops accepting records, writes every record still queued and waits for the writer thread to finish.
+     */
+    public void close() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Release any caller that raced with close() instead of leaving it waiting forever
+        PendingRecord pending;
+        while ((pending = queue.poll()) != null) {
+            pending.durable.completeExceptionally(new IOException("Mutation log is closed."));
+        }
+    }
+}
@@ -0,0 +1,793 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+/***
+ * Persistent hash array mapped trie: an immutable map whose every change returns a new version sharing all but
+ * the changed path with the previous one, so that a version can be kept and read for as long as needed while
+ * newer versions are made, and is reclaimed by the garbage collector once nobody refers to it.
+ *
+ * Each level of the trie consumes 5 bits of the spread hash of a key, starting from the lowest bits. A node holds
+ * a bitmap of its occupied buckets and a packed array of (key, value) pairs, where a null key marks a child node
+ * instead. Keys whose hashes are equal end up in a collision node. Nulls are neither valid keys nor values.
+ *
+ * A {@link Builder} changes the nodes it created in place instead of copying them, which is how large tries are
+ * loaded, and {@link #build(List)} builds the subtrees of the root in parallel from entries already sorted by
+ * their root bucket.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class HashTrie<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // 7 levels of bitmap nodes consume the 32 bits of a hash, under which only collision nodes remain
+    private static final int MAX_DEPTH = 8;
+
+    /***
+     * The number of buckets of the root node, by which {@link Buckets} sorts entries.
+     */
+    static final int ROOT_BUCKETS = 1 << BITS;
+
+    private static final HashTrie<?, ?> EMPTY = new HashTrie<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private HashTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /***
+     * @return the empty trie
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> HashTrie<K, V> empty() {
+        return (HashTrie<K, V>) EMPTY;
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int bucket(int hash, int shift) {
+        return (hash >>> shift) & MASK;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return root == null ? null : (V) root.find(key, hash(key), 0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /***
+     * @param key the key to map
+     * @param value the value to map the key to
+     * @return a version of this trie mapping the key to the value, or this trie if it already does
+     */
+    public HashTrie<K, V> with(K key, V value) {
+        Change change = new Change();
+        Node newRoot = insert(root, null, key, hash(key), value, 0, change);
+        return newRoot == root ? this : new HashTrie<>(newRoot, size + change.sizeDelta);
+    }
+
+    /***
+     * @param key the key to unmap
+     * @return a version of this trie without the key, or this trie if it does not hold the key
+     */
+    public HashTrie<K, V> without(K key) {
+        if (root == null) {
+            return this;
+        }
+        Change change = new Change();
+        Node newRoot = root.remove(null, key, hash(key), 0, change);
+        return newRoot == root ? this : new HashTrie<>(newRoot, size + change.sizeDelta);
+    }
+
+    /***
+     * @return a builder starting from this trie, which is left unchanged
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(root, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet<>(root, size);
+    }
+
+    /***
+     * Builds a trie from entries sorted by their root bucket, building the subtree of every bucket in parallel.
+     * The entries of each bucket are gathered chunk by chunk in the given order, so that the last value of a key
+     * wins, as if every entry had been put in turn.
+     *
+     * Rather than inserting the entries one at a time, every node is built once and at its final size: the
+     * entries of a bucket are sorted by the bucket of the next level with a stable counting sort, and each run of
+     * entries sharing a bucket becomes an entry, a collision node or a child node in turn.
+     *
+     * @param chunks the entries, sorted by root bucket, of consecutive parts of the input
+     * @return the trie holding the entries
+     */
+    static <K, V> HashTrie<K, V> build(List<Buckets<K, V>> chunks) {
+
+        Object[][] rootSlots = new Object[ROOT_BUCKETS][];
+        int[] sizes = new int[ROOT_BUCKETS];
+
+        IntStream.range(0, ROOT_BUCKETS).parallel().forEach(bucket -> {
+            int count = 0;
+            for (Buckets<K, V> chunk : chunks) {
+                count += chunk.sizes[bucket];
+            }
+            if (count == 0) {
+                return;
+            }
+            BulkEntries entries = new BulkEntries(count);
+            for (Buckets<K, V> chunk : chunks) {
+                if (chunk.sizes[bucket] > 0) {
+                    entries.addAll(chunk.keys[bucket], chunk.values[bucket], chunk.hashes[bucket],
+                                   chunk.sizes[bucket]);
+                }
+            }
+            Object[] slot = new Object[2];
+            sizes[bucket] = entries.fill(slot, 0, 0, count, BITS);
+            rootSlots[bucket] = slot;
+        });
+
+        int bitmap = 0;
+        int occupied = 0;
+        int size = 0;
+        for (int bucket = 0; bucket < ROOT_BUCKETS; bucket++) {
+            if (rootSlots[bucket] != null) {
+                bitmap |= 1 << bucket;
+                occupied++;
+                size += sizes[bucket];
+            }
+        }
+        if (occupied == 0) {
+            return empty();
+        }
+
+        Object[] slots = new Object[occupied * 2];
+        int slot = 0;
+        for (Object[] bucketSlot : rootSlots) {
+            if (bucketSlot != null) {
+                slots[slot] = bucketSlot[0];
+                slots[slot + 1] = bucketSlot[1];
+                slot += 2;
+            }
+        }
+        return new HashTrie<>(new BitmapNode(null, bitmap, slots), size);
+    }
+
+    /***
+     * The entries of a root bucket, kept in the order they were added within every run of entries sharing the
+     * buckets of the levels built so far. Each level moves the entries themselves, so that every pass over them
+     * reads them in sequence.
+     */
+    private static final class BulkEntries {
+
+        private Object[] keys;
+        private Object[] values;
+        private int[] hashes;
+        private Object[] sortedKeys;
+        private Object[] sortedValues;
+        private int[] sortedHashes;
+        private int count;
+
+        BulkEntries(int capacity) {
+            keys = new Object[capacity];
+            values = new Object[capacity];
+            hashes = new int[capacity];
+            sortedKeys = new Object[capacity];
+            sortedValues = new Object[capacity];
+            sortedHashes = new int[capacity];
+        }
+
+        void addAll(Object[] addedKeys, Object[] addedValues, int[] addedHashes, int added) {
+            System.arraycopy(addedKeys, 0, keys, count, added);
+            System.arraycopy(addedValues, 0, values, count, added);
+            System.arraycopy(addedHashes, 0, hashes, count, added);
+            count += added;
+        }
+
+        /***
+         * Fills a (key, value) slot pair with the entries between two positions, which share the buckets of every
+         * level above the given shift.
+         *
+         * @return the number of distinct keys among the entries
+         */
+        int fill(Object[] slots, int slot, int from, int to, int shift) {
+
+            if (to - from == 1) {
+                slots[slot] = keys[from];
+                slots[slot + 1] = values[from];
+                return 1;
+            }
+
+            int hash = hashes[from];
+            for (int i = from + 1; i < to; i++) {
+                if (hashes[i] != hash) {
+                    return fillNode(slots, slot, from, to, shift);
+                }
+            }
+
+            // Entries with the same hash are mostly the same key added again, whose last value wins
+            Object[] pairs = new Object[2 * (to - from)];
+            int pairCount = 0;
+            for (int i = from; i < to; i++) {
+                int pair = 0;
+                while (pair < pairCount && !keys[i].equals(pairs[pair])) {
+                    pair += 2;
+                }
+                pairs[pair] = keys[i];
+                pairs[pair + 1] = values[i];
+                if (pair == pairCount) {
+                    pairCount += 2;
+                }
+            }
+            if (pairCount == 2) {
+                slots[slot] = pairs[0];
+                slots[slot + 1] = pairs[1];
+            } else {
+                slots[slot] = null;
+                slots[slot + 1] = new CollisionNode(null, hash, Arrays.copyOf(pairs, pairCount));
+            }
+            return pairCount / 2;
+        }
+
+        /***
+         * Fills a slot pair with a child node holding entries that do not all share the same hash.
+         *
+         * @return the number of distinct keys among the entries
+         */
+        private int fillNode(Object[] slots, int slot, int from, int to, int shift) {
+
+            int[] starts = new int[(1 << BITS) + 1];
+            for (int i = from; i < to; i++) {
+                starts[bucket(hashes[i], shift) + 1]++;
+            }
+            int bitmap = 0;
+            int occupied = 0;
+            for (int bucket = 0; bucket < 1 << BITS; bucket++) {
+                if (starts[bucket + 1] > 0) {
+                    bitmap |= 1 << bucket;
+                    occupied++;
+                }
+                starts[bucket + 1] += starts[bucket];
+            }
+
+            // Stable counting sort of the entries by their bucket at this level
+            int[] next = Arrays.copyOf(starts, 1 << BITS);
+            for (int i = from; i < to; i++) {
+                int position = from + next[bucket(hashes[i], shift)]++;
+                sortedKeys[position] = keys[i];
+                sortedValues[position] = values[i];
+                sortedHashes[position] = hashes[i];
+            }
+            System.arraycopy(sortedKeys, from, keys, from, to - from);
+            System.arraycopy(sortedValues, from, values, from, to - from);
+            System.arraycopy(sortedHashes, from, hashes, from, to - from);
+
+            Object[] childSlots = new Object[occupied * 2];
+            int childSlot = 0;
+            int size = 0;
+            for (int bucket = 0; bucket < 1 << BITS; bucket++) {
+                if (starts[bucket + 1] > starts[bucket]) {
+                    size += fill(childSlots, childSlot, from + starts[bucket], from + starts[bucket + 1], shift + BITS);
+                    childSlot += 2;
+                }
+            }
+            slots[slot] = null;
+            slots[slot + 1] = new BitmapNode(null, bitmap, childSlots);
+            return size;
+        }
+    }
+
+    private static Node insert(Node node, Object owner, Object key, int hash, Object value, int shift,
+                               Change change) {
+        if (node == null) {
+            change.sizeDelta++;
+            return new BitmapNode(owner, 1 << bucket(hash, shift), new Object[]{key, value});
+        }
+        return node.put(owner, key, hash, value, shift, change);
+    }
+
+    /***
+     * @return a node holding two entries whose keys share the buckets of every level above the given shift
+     */
+    private static Node pair(Object owner, Object key1, int hash1, Object value1,
+                             Object key2, int hash2, Object value2, int shift) {
+        if (hash1 == hash2) {
+            return new CollisionNode(owner, hash1, new Object[]{key1, value1, key2, value2});
+        }
+        int bucket1 = bucket(hash1, shift);
+        int bucket2 = bucket(hash2, shift);
+        if (bucket1 == bucket2) {
+            Node child = pair(owner, key1, hash1, value1, key2, hash2, value2, shift + BITS);
+            return new BitmapNode(owner, 1 << bucket1, new Object[]{null, child});
+        }
+        Object[] slots = bucket1 < bucket2
+                         ? new Object[]{key1, value1, key2, value2}
+                         : new Object[]{key2, value2, key1, value1};
+        return new BitmapNode(owner, (1 << bucket1) | (1 << bucket2), slots);
+    }
+
+    /***
+     * The change in size made by an insertion or a removal.
+     */
+    private static final class Change {
+        private int sizeDelta;
+    }
+
+    /***
+     * A node of the trie. A node is only changed in place by the builder that owns it; every other change
+     * copies it.
+     */
+    private abstract static class Node {
+
+        final Object owner;
+        Object[] slots;
+
+        Node(Object owner, Object[] slots) {
+            this.owner = owner;
+            this.slots = slots;
+        }
+
+        boolean ownedBy(Object owner) {
+            return owner != null && this.owner == owner;
+        }
+
+        /***
+         * @return the (key, value) pair of the node if it holds a single entry and no child, or null
+         */
+        Object[] singleEntry() {
+            return slots.length == 2 && slots[0] != null ? slots : null;
+        }
+
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node put(Object owner, Object key, int hash, Object value, int shift, Change change);
+
+        /***
+         * @return the node without the key, or null if the node is left empty
+         */
+        abstract Node remove(Object owner, Object key, int hash, int shift, Change change);
+
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] != null) {
+                    action.accept(slots[i], slots[i + 1]);
+                } else {
+                    ((Node) slots[i + 1]).forEach(action);
+                }
+            }
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+
+        private int bitmap;
+
+        BitmapNode(Object owner, int bitmap, Object[] slots) {
+            super(owner, slots);
+            this.bitmap = bitmap;
+        }
+
+        private int slotOf(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = 1 << bucket(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int slot = slotOf(bit);
+            Object slotKey = slots[slot];
+            if (slotKey == null) {
+                return ((Node) slots[slot + 1]).find(key, hash, shift + BITS);
+            }
+            return key.equals(slotKey) ? slots[slot + 1] : null;
+        }
+
+        @Override
+        Node put(Object owner, Object key, int hash, Object value, int shift, Change change) {
+
+            int bit = 1 << bucket(hash, shift);
+            int slot = slotOf(bit);
+
+            if ((bitmap & bit) == 0) {
+                Object[] grown = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, grown, 0, slot);
+                grown[slot] = key;
+                grown[slot + 1] = value;
+                System.arraycopy(slots, slot, grown, slot + 2, slots.length - slot);
+                change.sizeDelta++;
+                return with(owner, bitmap | bit, grown);
+            }
+
+            Object slotKey = slots[slot];
+            Object slotValue = slots[slot + 1];
+
+            if (slotKey == null) {
+                Node child = (Node) slotValue;
+                Node newChild = child.put(owner, key, hash, value, shift + BITS, change);
+                return newChild == child ? this : with(owner, slot, null, newChild);
+            }
+            if (key.equals(slotKey)) {
+                return slotValue == value ? this : with(owner, slot, slotKey, value);
+            }
+
+            change.sizeDelta++;
+            Node child = pair(owner, slotKey, hash(slotKey), slotValue, key, hash, value, shift + BITS);
+            return with(owner, slot, null, child);
+        }
+
+        @Override
+        Node remove(Object owner, Object key, int hash, int shift, Change change) {
+
+            int bit = 1 << bucket(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int slot = slotOf(bit);
+            Object slotKey = slots[slot];
+
+            if (slotKey == null) {
+                Node child = (Node) slots[slot + 1];
+                Node newChild = child.remove(owner, key, hash, shift + BITS, change);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild == null) {
+                    return without(owner, bit, slot);
+                }
+                // A child left with a single entry is folded back into this node
+                Object[] single = newChild.singleEntry();
+                return single != null
+                       ? with(owner, slot, single[0], single[1])
+                       : with(owner, slot, null, newChild);
+            }
+            if (!key.equals(slotKey)) {
+                return this;
+            }
+            change.sizeDelta--;
+            return without(owner, bit, slot);
+        }
+
+        private Node with(Object owner, int newBitmap, Object[] newSlots) {
+            if (ownedBy(owner)) {
+                bitmap = newBitmap;
+                slots = newSlots;
+                return this;
+            }
+            return new BitmapNode(owner, newBitmap, newSlots);
+        }
+
+        private Node with(Object owner, int slot, Object key, Object value) {
+            if (ownedBy(owner)) {
+                slots[slot] = key;
+                slots[slot + 1] = value;
+                return this;
+            }
+            Object[] copy = slots.clone();
+            copy[slot] = key;
+            copy[slot + 1] = value;
+            return new BitmapNode(owner, bitmap, copy);
+        }
+
+        private Node without(Object owner, int bit, int slot) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] shrunk = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, shrunk, 0, slot);
+            System.arraycopy(slots, slot + 2, shrunk, slot, slots.length - slot - 2);
+            return with(owner, bitmap & ~bit, shrunk);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+
+        private final int hash;
+
+        CollisionNode(Object owner, int hash, Object[] slots) {
+            super(owner, slots);
+            this.hash = hash;
+        }
+
+        private int slotOf(Object key) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (key.equals(slots[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int slot = slotOf(key);
+            return slot < 0 ? null : slots[slot + 1];
+        }
+
+        @Override
+        Node put(Object owner, Object key, int hash, Object value, int shift, Change change) {
+
+            if (hash != this.hash) {
+                // The key only shares the buckets above this level, so this node moves under a bitmap node
+                BitmapNode parent = new BitmapNode(owner, 1 << bucket(this.hash, shift), new Object[]{null, this});
+                return parent.put(owner, key, hash, value, shift, change);
+            }
+
+            int slot = slotOf(key);
+            if (slot >= 0) {
+                if (slots[slot + 1] == value) {
+                    return this;
+                }
+                Object[] newSlots = ownedBy(owner) ? slots : slots.clone();
+                newSlots[slot + 1] = value;
+                return with(owner, newSlots);
+            }
+
+            Object[] grown = new Object[slots.length + 2];
+            System.arraycopy(slots, 0, grown, 0, slots.length);
+            grown[slots.length] = key;
+            grown[slots.length + 1] = value;
+            change.sizeDelta++;
+            return with(owner, grown);
+        }
+
+        @Override
+        Node remove(Object owner, Object key, int hash, int shift, Change change) {
+            if (hash != this.hash) {
+                return this;
+            }
+            int slot = slotOf(key);
+            if (slot < 0) {
+                return this;
+            }
+            change.sizeDelta--;
+            if (slots.length == 2) {
+                return null;
+            }
+            Object[] shrunk = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, shrunk, 0, slot);
+            System.arraycopy(slots, slot + 2, shrunk, slot, slots.length - slot - 2);
+            return with(owner, shrunk);
+        }
+
+        private Node with(Object owner, Object[] newSlots) {
+            if (ownedBy(owner)) {
+                slots = newSlots;
+                return this;
+            }
+            return new CollisionNode(owner, hash, newSlots);
+        }
+    }
+
+    private static final class EntrySet<K, V> extends AbstractSet<Map.Entry<K, V>> {
+
+        private final Node root;
+        private final int size;
+
+        EntrySet(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /***
+     * Walks the trie depth first, keeping the slots and position of every node on the path to the next entry.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+        private final Object[][] path = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth = -1;
+
+        private Object nextKey;
+        private Object nextValue;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                push(root);
+            }
+            advance();
+        }
+
+        private void push(Node node) {
+            path[++depth] = node.slots;
+            positions[depth] = 0;
+        }
+
+        private void advance() {
+            nextKey = null;
+            while (depth >= 0) {
+                Object[] slots = path[depth];
+                int position = positions[depth];
+                if (position >= slots.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (slots[position] == null) {
+                    push((Node) slots[position + 1]);
+                } else {
+                    nextKey = slots[position];
+                    nextValue = slots[position + 1];
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (nextKey == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry = new SimpleImmutableEntry<>((K) nextKey, (V) nextValue);
+            advance();
+            return entry;
+        }
+    }
+
+    /***
+     * A mutable map over a trie, changing in place the nodes it created itself, used to load large tries
+     * and to replay mutations onto them. The trie it builds is immutable once {@link #build()} returns.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public static final class Builder<K, V> extends AbstractMap<K, V> {
+
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Builder(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            return root == null ? null : (V) root.find(key, hash(key), 0);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            V previous = get(key);
+            Change change = new Change();
+            root = insert(root, owner, key, hash(key), value, 0, change);
+            size += change.sizeDelta;
+            return previous;
+        }
+
+        @Override
+        public V remove(Object key) {
+            V previous = get(key);
+            if (previous != null) {
+                Change change = new Change();
+                root = root.remove(owner, key, hash(key), 0, change);
+                size += change.sizeDelta;
+            }
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new EntrySet<>(root, size);
+        }
+
+        /***
+         * @return the trie holding the entries of the builder, which is no longer changed by it
+         */
+        public HashTrie<K, V> build() {
+            owner = new Object();
+            return root == null ? empty() : new HashTrie<>(root, size);
+        }
+    }
+
+    /***
+     * Entries sorted by the root bucket of their key, each bucket in the order its entries were added, from which
+     * {@link #build(List)} builds a trie.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    static final class Buckets<K, V> {
+
+        private final Object[][] keys = new Object[ROOT_BUCKETS][];
+        private final Object[][] values = new Object[ROOT_BUCKETS][];
+        private final int[][] hashes = new int[ROOT_BUCKETS][];
+        private final int[] sizes = new int[ROOT_BUCKETS];
+
+        void add(K key, V value) {
+            int hash = hash(key);
+            int bucket = bucket(hash, 0);
+            int size = sizes[bucket];
+            if (keys[bucket] == null) {
+                keys[bucket] = new Object[16];
+                values[bucket] = new Object[16];
+                hashes[bucket] = new int[16];
+            } else if (size == keys[bucket].length) {
+                keys[bucket] = Arrays.copyOf(keys[bucket], size * 2);
+                values[bucket] = Arrays.copyOf(values[bucket], size * 2);
+                hashes[bucket] = Arrays.copyOf(hashes[bucket], size * 2);
+            }
+            keys[bucket][size] = key;
+            values[bucket][size] = value;
+            hashes[bucket][size] = hash;
+            sizes[bucket] = size + 1;
+        }
+    }
+}
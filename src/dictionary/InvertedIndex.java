@@ -0,0 +1,152 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/***
+ * Inverted index from the terms appearing in the definitions of the dictionary to the words they define,
+ * answering reverse (full-text) lookups.
+ *
+ * A term is a run of letters or digits in a definition, lower-cased. Each term maps to the set of words with
+ * at least one definition containing it, so a query only reads the sets of its own terms. The sets are kept in
+ * alphabetical order, so a query stops as soon as it has found as many words as it was asked for.
+ */
+public class InvertedIndex implements DictionaryIndex {
+
+    private final ConcurrentHashMap<String, Postings> postings = new ConcurrentHashMap<>();
+
+    /***
+     * The words whose definitions contain a term, in alphabetical order, and their number, which the sorted set
+     * can only count by walking it. Both are changed under the term's entry in the index.
+     */
+    private static final class Postings {
+        private final ConcurrentSkipListSet<String> words = new ConcurrentSkipListSet<>();
+        private volatile int size;
+    }
+
+    @Override
+    public void added(String word, List<String> definitions) {
+        for (String term : terms(definitions)) {
+            post(term, word);
+        }
+    }
+
+    @Override
+    public void updated(String word, List<String> oldDefinitions, List<String> newDefinitions) {
+        Set<String> oldTerms = terms(oldDefinitions);
+        Set<String> newTerms = terms(newDefinitions);
+        for (String term : oldTerms) {
+            if (!newTerms.contains(term)) {
+                unpost(term, word);
+            }
+        }
+        for (String term : newTerms) {
+            if (!oldTerms.contains(term)) {
+                post(term, word);
+            }
+        }
+    }
+
+    @Override
+    public void removed(String word, List<String> oldDefinitions) {
+        for (String term : terms(oldDefinitions)) {
+            unpost(term, word);
+        }
+    }
+
+    private void post(String term, String word) {
+        postings.compute(term, (t, posted) -> {
+            if (posted == null) {
+                posted = new Postings();
+            }
+            if (posted.words.add(word)) {
+                posted.size++;
+            }
+            return posted;
+        });
+    }
+
+    private void unpost(String term, String word) {
+        postings.computeIfPresent(term, (t, posted) -> {
+            if (posted.words.remove(word)) {
+                posted.size--;
+            }
+            return posted.size == 0 ? null : posted;
+        });
+    }
+
+    /***
+     * Finds the words having definitions that contain every term of a query.
+     *
+     * @param query the terms to look for, separated by any character other than letters and digits
+     * @param limit the maximum number of words returned
+     * @return up to limit words whose definitions contain all of the terms, in alphabetical order
+     */
+    public List<String> containingAll(String query, int limit) {
+
+        Set<String> terms = terms(Collections.singletonList(query));
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Postings> sets = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Postings posted = postings.get(term);
+            if (posted == null) {
+                return Collections.emptyList();
+            }
+            sets.add(posted);
+        }
+
+        // Candidates are taken from the rarest term in alphabetical order, and checked against the sets of the
+        // other terms, so the first limit matches are the first limit words in alphabetical order
+        sets.sort(Comparator.comparingInt(posted -> posted.size));
+
+        List<String> matches = new ArrayList<>();
+        for (String word : sets.get(0).words) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            boolean inAll = true;
+            for (int i = 1; i < sets.size() && inAll; i++) {
+                inAll = sets.get(i).words.contains(word);
+            }
+            if (inAll) {
+                matches.add(word);
+            }
+        }
+        return matches;
+    }
+
+    /***
+     * @return the distinct lower-cased runs of letters or digits in the given definitions
+     */
+    static Set<String> terms(List<String> definitions) {
+        Set<String> terms = new HashSet<>();
+        for (String definition : definitions) {
+            int start = -1;
+            for (int i = 0; i <= definition.length(); i++) {
+                boolean inTerm = i < definition.length() && Character.isLetterOrDigit(definition.charAt(i));
+                if (inTerm && start < 0) {
+                    start = i;
+                } else if (!inTerm && start >= 0) {
+                    terms.add(definition.substring(start, i).toLowerCase());
+                    start = -1;
+                }
+            }
+        }
+        return terms;
+    }
+}
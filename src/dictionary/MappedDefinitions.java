@@ -0,0 +1,116 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/***
+ * The definitions of a word left in a memory-mapped block of the dictionary snapshot, as
+ * (int definition count)(definitions), every definition being a length-prefixed UTF-8 byte sequence.
+ *
+ * Only the block and the position of the definitions are kept on the heap. Every read decodes the definitions
+ * from the block, which the operating system pages in from the snapshot file as needed. The block is shared by
+ * every word in it and is only ever read with absolute positions, so reads need no locking.
+ */
+final class MappedDefinitions extends Definitions {
+
+    private static final byte SEMICOLON = ';';
+    private static final byte LINE_TERMINATOR = '\n';
+
+    private final ByteBuffer block;
+    private final int position;
+
+    /***
+     * Constructor for MappedDefinitions.
+     *
+     * @param block the mapped block of the snapshot holding the definitions, which is never modified
+     * @param position the position in the block of the definition count
+     */
+    MappedDefinitions(ByteBuffer block, int position) {
+        this.block = block;
+        this.position = position;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int offset = position + Integer.BYTES;
+        for (int i = 0; i < index; i++) {
+            offset += Integer.BYTES + block.getInt(offset);
+        }
+        int length = block.getInt(offset);
+        return new String(read(offset + Integer.BYTES, length), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return block.getInt(position);
+    }
+
+    /***
+     * Copies the definitions' bytes from the block into the reply, without decoding them.
+     */
+    @Override
+    public byte[] searchReply() {
+        int count = size();
+        int offset = position + Integer.BYTES;
+        int replyLength = Math.max(count, 1);
+        for (int i = 0; i < count; i++) {
+            int length = block.getInt(offset);
+            replyLength += length;
+            offset += Integer.BYTES + length;
+        }
+
+        byte[] reply = new byte[replyLength];
+        ByteBuffer source = block.duplicate();
+        int filled = 0;
+        offset = position + Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            int length = block.getInt(offset);
+            if (i > 0) {
+                reply[filled++] = SEMICOLON;
+            }
+            source.position(offset + Integer.BYTES);
+            source.get(reply, filled, length);
+            filled += length;
+            offset += Integer.BYTES + length;
+        }
+        reply[filled] = LINE_TERMINATOR;
+        return reply;
+    }
+
+    /***
+     * Copies the definitions, as they are laid out in the snapshot, to another snapshot.
+     *
+     * @param out the stream of the snapshot being written
+     * @return the number of bytes written
+     * @throws IOException if the definitions cannot be written
+     */
+    int writeTo(DataOutputStream out) throws IOException {
+        int count = size();
+        int end = position + Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            end += Integer.BYTES + block.getInt(end);
+        }
+        byte[] bytes = read(position, end - position);
+        out.write(bytes);
+        return bytes.length;
+    }
+
+    private byte[] read(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = block.duplicate();
+        source.position(offset);
+        source.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,274 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Append-only log of the mutations made to the dictionary since its last snapshot.
+ *
+ * Every record holds the resulting state of a single word (its new definitions, or its removal), so replaying
+ * the log over any snapshot taken at or after the start of the log always converges to the latest dictionary.
+ * Each record is written as: (1 byte operation)(word)(definition count)(definitions), where every String is
+ * a length-prefixed UTF-8 byte sequence.
+ */
+public class MutationLog {
+
+    private static final byte PUT_RECORD = 1;
+    private static final byte DELETE_RECORD = 2;
+
+    private static final String LOG_SUFFIX = ".log";
+    private static final String ROTATED_LOG_SUFFIX = ".log.old";
+
+    private final File logFile;
+    private final File rotatedLogFile;
+
+    private FileOutputStream file;
+    private BufferedOutputStream out;
+    private long size;
+
+    /***
+     * Constructor for MutationLog.
+     * The log must be opened with {@link #recover(Map)} before any mutation is appended to it.
+     *
+     * @param dictionaryFile The name of the CSV dictionary file in the root directory
+     */
+    public MutationLog(String dictionaryFile) {
+        String root = System.getProperty("user.dir");
+        this.logFile = new File(root + File.separator + dictionaryFile + LOG_SUFFIX);
+        this.rotatedLogFile = new File(root + File.separator + dictionaryFile + ROTATED_LOG_SUFFIX);
+    }
+
+    private void open() throws IOException {
+        file = new FileOutputStream(logFile, true);
+        out = new BufferedOutputStream(file);
+        size = logFile.length();
+    }
+
+    /***
+     * @return the number of bytes currently in the active log
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /***
+     * Encodes a record setting the definitions of a word.
+     *
+     * @param word String containing the added or updated word
+     * @param definitions List of String definitions of the word
+     * @return the encoded record, ready to be appended
+     */
+    public static byte[] putRecord(String word, List<String> definitions) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            record.writeByte(PUT_RECORD);
+            writeString(record, word);
+            record.writeInt(definitions.size());
+            for (String definition : definitions) {
+                writeString(record, definition);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /***
+     * Encodes a record removing a word.
+     *
+     * @param word String containing the deleted word
+     * @return the encoded record, ready to be appended
+     */
+    public static byte[] deleteRecord(String word) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream record = new DataOutputStream(bytes)) {
+            record.writeByte(DELETE_RECORD);
+            writeString(record, word);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream record, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        record.writeInt(bytes.length);
+        record.write(bytes);
+    }
+
+    /***
+     * Appends an encoded record to the log's buffer. The record only reaches the operating system
+     * once the log is flushed, and the disk once the log is synced.
+     *
+     * @param record the record encoded by {@link #putRecord(String, List)} or {@link #deleteRecord(String)}
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void append(byte[] record) throws IOException {
+        out.write(record);
+        size += record.length;
+    }
+
+    /***
+     * Hands every buffered record over to the operating system.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    /***
+     * Flushes every buffered record and forces it onto the disk.
+     *
+     * @throws IOException if the records cannot be written or synced
+     */
+    public synchronized void sync() throws IOException {
+        out.flush();
+        file.getFD().sync();
+    }
+
+    /***
+     * Moves the active log aside so that a snapshot can be taken while new mutations go to a fresh log.
+     * The rotated log must be discarded with {@link #discardRotated()} once the snapshot is safely written.
+     *
+     * If a rotated log is still present from an interrupted compaction, it is kept as is, since its
+     * mutations are not yet part of any snapshot, and the active log is left in place.
+     *
+     * @throws IOException if the log cannot be rotated
+     */
+    public synchronized void rotate() throws IOException {
+        if (rotatedLogFile.exists()) {
+            return;
+        }
+        sync();
+        out.close();
+        Files.move(logFile.toPath(), rotatedLogFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    /***
+     * @return true if a rotated log is waiting to be folded into a snapshot
+     */
+    public boolean hasRotated() {
+        return rotatedLogFile.exists();
+    }
+
+    /***
+     * Deletes the rotated log after its mutations have been folded into a snapshot.
+     */
+    public void discardRotated() {
+        rotatedLogFile.delete();
+    }
+
+    /***
+     * Replays the rotated log (left behind if the server stopped mid-compaction) and then the active log
+     * onto the given dictionary, in the order the mutations were made, and opens the active log for appending.
+     *
+     * @param dictionary Map to apply the logged mutations to
+     * @return the number of records replayed
+     * @throws IOException if a log file cannot be read or opened
+     */
+    public synchronized int recover(Map<String, List<String>> dictionary) throws IOException {
+
+        int records = 0;
+
+        if (rotatedLogFile.exists()) {
+            records += replay(rotatedLogFile, dictionary);
+        }
+
+        if (logFile.exists()) {
+            records += replay(logFile, dictionary);
+        }
+
+        open();
+        return records;
+    }
+
+    /***
+     * Applies every complete record of a log file to the dictionary.
+     * A truncated trailing record is the remains of a write interrupted by a crash, and is cut off the file
+     * so that new records are never appended behind it.
+     */
+    private static int replay(File file, Map<String, List<String>> dictionary) throws IOException {
+
+        int records = 0;
+        long validLength = 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int operation = in.read();
+                if (operation == -1) {
+                    break;
+                }
+
+                try {
+                    long recordLength = 1;
+                    byte[] word = readBytes(in);
+                    recordLength += Integer.BYTES + word.length;
+
+                    if (operation == PUT_RECORD) {
+                        int count = in.readInt();
+                        recordLength += Integer.BYTES;
+                        if (count < 0 || count > in.available() / Integer.BYTES) {
+                            break;
+                        }
+                        String[] definitions = new String[count];
+                        for (int i = 0; i < count; i++) {
+                            byte[] definition = readBytes(in);
+                            recordLength += Integer.BYTES + definition.length;
+                            definitions[i] = new String(definition, StandardCharsets.UTF_8);
+                        }
+                        dictionary.put(new String(word, StandardCharsets.UTF_8), Definitions.of(definitions));
+                    } else if (operation == DELETE_RECORD) {
+                        dictionary.remove(new String(word, StandardCharsets.UTF_8));
+                    } else {
+                        break;
+                    }
+
+                    validLength += recordLength;
+                    records++;
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        }
+
+        if (validLength < file.length()) {
+            try (RandomAccessFile truncated = new RandomAccessFile(file, "rw")) {
+                truncated.setLength(validLength);
+            }
+        }
+
+        return records;
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new EOFException();
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /***
+     * Syncs and closes the active log.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    public synchronized void close() throws IOException {
+        sync();
+        out.close();
+    }
+}
@@ -0,0 +1,88 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+/***
+ * Tunable settings of how the dictionary store persists its mutations, as given on the server command line.
+ */
+public class PersistenceSettings {
+
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 16L * 1024 * 1024;
+
+    private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private int batchSize = GroupCommitter.DEFAULT_BATCH_SIZE;
+    private long maxWaitMillis = GroupCommitter.DEFAULT_MAX_WAIT_MILLIS;
+    private DurabilityMode durabilityMode = DurabilityMode.SYNC;
+    private long syncIntervalMillis = GroupCommitter.DEFAULT_SYNC_INTERVAL_MILLIS;
+    private StorageMode storageMode = StorageMode.MEMORY;
+
+    /***
+     * @return the size in bytes past which the mutation log is folded into the CSV file
+     */
+    public long getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public void setCompactionThreshold(long compactionThreshold) {
+        if (compactionThreshold > 0) this.compactionThreshold = compactionThreshold;
+    }
+
+    /***
+     * @return the maximum number of mutations written to the log in one batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize > 0) this.batchSize = batchSize;
+    }
+
+    /***
+     * @return how long (in milliseconds) the log writer waits for more mutations to fill a batch
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        if (maxWaitMillis >= 0) this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /***
+     * @return how far each batch is pushed towards the disk before its clients are answered
+     */
+    public DurabilityMode getDurabilityMode() {
+        return durabilityMode;
+    }
+
+    public void setDurabilityMode(DurabilityMode durabilityMode) {
+        if (durabilityMode != null) this.durabilityMode = durabilityMode;
+    }
+
+    /***
+     * @return how often (in milliseconds) the log is forced onto the disk in interval durability mode
+     */
+    public long getSyncIntervalMillis() {
+        return syncIntervalMillis;
+    }
+
+    public void setSyncIntervalMillis(long syncIntervalMillis) {
+        if (syncIntervalMillis > 0) this.syncIntervalMillis = syncIntervalMillis;
+    }
+
+    /***
+     * @return whether the definitions are held on the heap or read from the memory-mapped snapshot
+     */
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    public void setStorageMode(StorageMode storageMode) {
+        if (storageMode != null) this.storageMode = storageMode;
+    }
+}
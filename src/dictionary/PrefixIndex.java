@@ -0,0 +1,63 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/***
+ * Ordered index of the dictionary's words, answering prefix (autocomplete) queries.
+ *
+ * Words are kept in a concurrent skip list, so a query seeks to the first word not before the prefix in
+ * O(log n) and then walks the matching words in order, costing time proportional to the results returned
+ * rather than to the size of the dictionary.
+ */
+public class PrefixIndex implements DictionaryIndex {
+
+    private final ConcurrentSkipListSet<String> words = new ConcurrentSkipListSet<>();
+
+    @Override
+    public void added(String word, List<String> definitions) {
+        words.add(word);
+    }
+
+    @Override
+    public void updated(String word, List<String> oldDefinitions, List<String> newDefinitions) {
+        // The set of words is unchanged by an update
+    }
+
+    @Override
+    public void removed(String word, List<String> oldDefinitions) {
+        words.remove(word);
+    }
+
+    /***
+     * @return the first word not before the given String in alphabetical order, or null if there is none
+     */
+    String ceiling(String from) {
+        return words.ceiling(from);
+    }
+
+    /***
+     * Finds the words starting with a prefix, in alphabetical order.
+     *
+     * @param prefix the prefix the words start with
+     * @param limit the maximum number of words returned
+     * @return up to limit words starting with the prefix
+     */
+    public List<String> startingWith(String prefix, int limit) {
+        List<String> matches = new ArrayList<>(Math.min(limit, 64));
+        for (String word : words.tailSet(prefix)) {
+            if (matches.size() >= limit || !word.startsWith(prefix)) {
+                break;
+            }
+            matches.add(word);
+        }
+        return matches;
+    }
+}
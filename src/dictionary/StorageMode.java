@@ -0,0 +1,37 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+/***
+ * Where the dictionary store keeps the definitions of its words.
+ */
+public enum StorageMode {
+
+    // Every word and its definitions are held on the heap
+    MEMORY,
+
+    // Only the words are held on the heap, and the definitions are read from the memory-mapped snapshot,
+    // except for those changed since the snapshot was last written. The definitions are not indexed, so words
+    // cannot be found by their definitions. Not supported on Windows, which does not let compaction replace a
+    // snapshot file that is mapped
+    DISK;
+
+    /***
+     * Parses the storage mode given as a server command line option.
+     *
+     * @param option the option value, case-insensitive (memory or disk)
+     * @return the matching storage mode, or null if there is none
+     */
+    public static StorageMode fromOption(String option) {
+        for (StorageMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(option)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,519 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import metrics.CacheMetrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToIntBiFunction;
+
+/***
+ * Cache bounded by the total weight (in bytes) of its entries, evicting with the W-TinyLFU policy so that a scan
+ * of keys accessed only once cannot flush the popular ones out.
+ *
+ * New entries go to a small LRU window (WINDOW_PERCENT of the weight). An entry leaving the window is only
+ * admitted into the main space if the {@link FrequencySketch} has seen its key more often than the key of the
+ * entry it would evict, otherwise the new entry is dropped. The main space is a segmented LRU: an entry read
+ * again while on probation is promoted to the protected segment (PROTECTED_PERCENT of the main space), whose
+ * least recently used entries are demoted back to probation.
+ *
+ * Lookups and writes never block: they update a concurrent map and record the access or the new entry in a ring
+ * buffer, which is replayed onto the policy by whichever thread next manages to take the policy's lock. Reads are
+ * dropped while their buffer is full, and a new entry is not cached at all while the write buffer is full and
+ * another thread is draining it. Only invalidations wait for the lock.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class TinyLfuCache<K, V> {
+
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    // Rough weight of an entry used to size the frequency sketch
+    private static final int EXPECTED_ENTRY_WEIGHT = 64;
+
+    private static final int READ_BUFFERS = 4;
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte REMOVED = 3;
+    // In the map, but not yet replayed onto the policy
+    private static final byte PENDING = 4;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ToIntBiFunction<K, V> weigher;
+    private final CacheMetrics metrics;
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+
+    // Policy state, guarded by the eviction lock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private long windowWeight;
+    private long mainWeight;
+    private long protectedWeight;
+
+    private final ReadBuffer<K, V>[] readBuffers = newReadBuffers();
+    private final WriteBuffer<K, V> writeBuffer = new WriteBuffer<>();
+
+    /***
+     * Constructor for TinyLfuCache.
+     *
+     * @param maximumWeight The largest total weight of the entries held, 0 to hold none
+     * @param weigher Gives the weight of an entry, in bytes
+     * @param metrics The metrics to count the hits, misses and evictions of the cache in
+     */
+    public TinyLfuCache(long maximumWeight, ToIntBiFunction<K, V> weigher, CacheMetrics metrics) {
+        this.maximumWeight = Math.max(0, maximumWeight);
+        this.weigher = weigher;
+        this.metrics = metrics;
+        this.windowMaximum = this.maximumWeight * WINDOW_PERCENT / 100;
+        this.mainMaximum = this.maximumWeight - windowMaximum;
+        this.protectedMaximum = mainMaximum * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(this.maximumWeight / EXPECTED_ENTRY_WEIGHT);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> ReadBuffer<K, V>[] newReadBuffers() {
+        ReadBuffer<K, V>[] buffers = new ReadBuffer[READ_BUFFERS];
+        for (int i = 0; i < READ_BUFFERS; i++) {
+            buffers[i] = new ReadBuffer<>();
+        }
+        return buffers;
+    }
+
+    /***
+     * @return the metrics of the cache
+     */
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    /***
+     * Looks up the value of a key, without locking.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null if the key is not cached
+     */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            metrics.miss();
+            return null;
+        }
+        metrics.hit();
+        ReadBuffer<K, V> buffer = readBuffers[(int) Thread.currentThread().getId() & (READ_BUFFERS - 1)];
+        if (!buffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /***
+     * Caches the value of a key, replacing any value already cached for it. The entry may be evicted straight
+     * away if its key is less popular than the entries it would displace.
+     *
+     * @param key the key to cache
+     * @param value the value of the key
+     */
+    public void put(K key, V value) {
+        put(key, value, () -> true);
+    }
+
+    /***
+     * Caches the value of a key if it is still current, replacing any value already cached for it.
+     *
+     * The check is made while the key's entry is being replaced in the map, which {@link #invalidate(Object)}
+     * removes the key from atomically, so a value made stale by a change of its source is never cached if the
+     * change invalidates the key once it is visible to the check.
+     *
+     * The caller never waits for the policy's lock: the entry is recorded in the write buffer, which is drained
+     * if the lock is free. If the buffer is full and the lock is held, the value is simply not cached.
+     *
+     * @param key the key to cache
+     * @param value the value of the key
+     * @param current Tells whether the value is still the current value of the key
+     */
+    public void put(K key, V value, BooleanSupplier current) {
+        int weight = weigher.applyAsInt(key, value);
+        Node<K, V> node = new Node<>(key, value, weight);
+
+        long slot = writeBuffer.claim();
+        if (slot < 0) {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                maintain();
+            } finally {
+                evictionLock.unlock();
+            }
+            slot = writeBuffer.claim();
+            if (slot < 0) {
+                return;
+            }
+        }
+
+        // The claimed slot is always filled, so that the entry replaced or removed here is unlinked by the drain
+        try {
+            data.compute(key, (k, replaced) -> {
+                node.replaced = replaced;
+                return weight <= maximumWeight && current.getAsBoolean() ? node : null;
+            });
+        } finally {
+            writeBuffer.publish(slot, node);
+        }
+
+        if (evictionLock.tryLock()) {
+            try {
+                maintain();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /***
+     * Removes the cached value of a key, if any.
+     *
+     * @param key the key whose value is no longer valid
+     */
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            maintain();
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+                publishUsage();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /***
+     * Replays the buffered writes and reads onto the policy, under its eviction lock.
+     */
+    private void maintain() {
+        writeBuffer.drain(this);
+        drainReadBuffers();
+        evict();
+        publishUsage();
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drain(this);
+        }
+    }
+
+    /***
+     * Replays a write of an entry onto the policy: the entry it replaced leaves its queue, and the entry joins
+     * the window if it is still the key's entry.
+     */
+    private void onWrite(Node<K, V> node) {
+        unlink(node.replaced);
+        node.replaced = null;
+        sketch.increment(node.key);
+        if (node.queue != PENDING || data.get(node.key) != node) {
+            node.queue = REMOVED;
+            return;
+        }
+        node.queue = WINDOW;
+        window.addLast(node);
+        windowWeight += node.weight;
+    }
+
+    /***
+     * Replays a read of an entry onto the policy.
+     */
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == REMOVED || node.queue == PENDING) {
+            return;
+        }
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToEnd(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                protectedWeight += node.weight;
+                demoteProtected();
+                break;
+            case PROTECTED:
+                protectedQueue.moveToEnd(node);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void demoteProtected() {
+        while (protectedWeight > protectedMaximum) {
+            Node<K, V> demoted = protectedQueue.first();
+            protectedQueue.remove(demoted);
+            protectedWeight -= demoted.weight;
+            demoted.queue = PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    /***
+     * Moves the entries overflowing the window to the main space, admitting each only if it is more popular than
+     * the entries it would evict.
+     */
+    private void evict() {
+        while (windowWeight > windowMaximum) {
+            Node<K, V> candidate = window.first();
+            window.remove(candidate);
+            windowWeight -= candidate.weight;
+            // In no queue until admitted
+            candidate.queue = REMOVED;
+            admit(candidate);
+        }
+    }
+
+    private void admit(Node<K, V> candidate) {
+        int candidateFrequency = sketch.frequency(candidate.key);
+
+        while (mainWeight + candidate.weight > mainMaximum) {
+            Node<K, V> victim = probation.first() != null ? probation.first() : protectedQueue.first();
+            if (victim == null || candidateFrequency <= sketch.frequency(victim.key)) {
+                evictNode(candidate);
+                return;
+            }
+            evictNode(victim);
+        }
+
+        candidate.queue = PROBATION;
+        probation.addLast(candidate);
+        mainWeight += candidate.weight;
+    }
+
+    private void evictNode(Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        metrics.evicted();
+    }
+
+    /***
+     * Takes a node out of whichever queue holds it.
+     */
+    private void unlink(Node<K, V> node) {
+        if (node == null) {
+            return;
+        }
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                mainWeight -= node.weight;
+                break;
+            case PROTECTED:
+                protectedQueue.remove(node);
+                mainWeight -= node.weight;
+                protectedWeight -= node.weight;
+                break;
+            default:
+                break;
+        }
+        node.queue = REMOVED;
+    }
+
+    private void publishUsage() {
+        metrics.setUsage(data.size(), windowWeight + mainWeight);
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final int weight;
+
+        // The entry this one took the place of in the map, until the write is replayed
+        private Node<K, V> replaced;
+
+        // Guarded by the eviction lock
+        private byte queue = PENDING;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /***
+     * Doubly-linked list of nodes, from the least to the most recently used.
+     */
+    private static final class AccessQueue<K, V> {
+
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        Node<K, V> first() {
+            return head;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        void moveToEnd(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    /***
+     * Ring buffer of the nodes read since the policy last caught up. Reads are dropped while the buffer is full,
+     * which only makes the policy see fewer of the accesses to the most popular entries.
+     */
+    private static final class ReadBuffer<K, V> {
+
+        private static final int SIZE = 64;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Node<K, V>> nodes = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        private volatile long reads;
+
+        /***
+         * @return true if the read was recorded, false if the buffer is full and needs draining
+         */
+        boolean offer(Node<K, V> node) {
+            long write = writes.get();
+            if (write - reads >= SIZE) {
+                return false;
+            }
+            if (writes.compareAndSet(write, write + 1)) {
+                nodes.lazySet((int) write & MASK, node);
+            }
+            return true;
+        }
+
+        /***
+         * Replays the recorded reads onto the cache's policy, under its eviction lock.
+         */
+        void drain(TinyLfuCache<K, V> cache) {
+            long read = reads;
+            long write = writes.get();
+            for (; read < write; read++) {
+                int index = (int) read & MASK;
+                Node<K, V> node = nodes.get(index);
+                if (node == null) {
+                    // Claimed by a reader that has not stored it yet
+                    break;
+                }
+                nodes.lazySet(index, null);
+                cache.onAccess(node);
+            }
+            reads = read;
+        }
+    }
+
+    /***
+     * Ring buffer of the entries written since the policy last caught up. A writer first claims a slot, then fills
+     * it once the entry is in the map, so no write is lost once the entry is visible to readers.
+     */
+    private static final class WriteBuffer<K, V> {
+
+        private static final int SIZE = 128;
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<Node<K, V>> nodes = new AtomicReferenceArray<>(SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        private volatile long reads;
+
+        /***
+         * @return the slot claimed, or -1 if the buffer is full and needs draining
+         */
+        long claim() {
+            while (true) {
+                long write = writes.get();
+                if (write - reads >= SIZE) {
+                    return -1;
+                }
+                if (writes.compareAndSet(write, write + 1)) {
+                    return write;
+                }
+            }
+        }
+
+        void publish(long slot, Node<K, V> node) {
+            nodes.lazySet((int) slot & MASK, node);
+        }
+
+        /***
+         * Replays the buffered writes onto the cache's policy, under its eviction lock, up to the first slot
+         * claimed but not yet filled.
+         */
+        void drain(TinyLfuCache<K, V> cache) {
+            long read = reads;
+            long write = writes.get();
+            for (; read < write; read++) {
+                int index = (int) read & MASK;
+                Node<K, V> node = nodes.get(index);
+                if (node == null) {
+                    break;
+                }
+                nodes.lazySet(index, null);
+                cache.onWrite(node);
+            }
+            reads = read;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/***
+ * Bloom filter of the words of the dictionary, telling in a single cache line whether a word is definitely not in
+ * the dictionary, so that the lookups of missing words return without walking the dictionary.
+ *
+ * The filter is split into blocks of 8 longs (one 64-byte cache line). A word picks one block from its hash, and
+ * one bit in each of the block's 8 longs from 8 multiplications of its hash. With BITS_PER_WORD bits per word, about
+ * 1 in 100 missing words is let through. Words can be added concurrently, but not removed: the filter is rebuilt
+ * from the dictionary to forget deleted words, and to grow with the dictionary.
+ */
+class WordFilter {
+
+    private static final int BITS_PER_WORD = 10;
+    private static final int BLOCK_LONGS = 8;
+    private static final int MIN_BLOCKS = 16;
+
+    private static final int[] SALTS = {
+            0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d, 0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31};
+
+    private final AtomicLongArray bits;
+    private final long blocks;
+    private final long capacity;
+
+    /***
+     * Constructor for WordFilter.
+     *
+     * @param capacity the number of words the filter is sized for
+     */
+    WordFilter(long capacity) {
+        long blockCount = Math.max(MIN_BLOCKS, (capacity * BITS_PER_WORD + 511) / 512);
+        blockCount = Math.min(blockCount, Integer.MAX_VALUE / BLOCK_LONGS);
+        this.bits = new AtomicLongArray((int) blockCount * BLOCK_LONGS);
+        this.blocks = blockCount;
+        this.capacity = capacity;
+    }
+
+    /***
+     * @return the number of words the filter was sized for
+     */
+    long capacity() {
+        return capacity;
+    }
+
+    /***
+     * @param word the word to add
+     */
+    void add(String word) {
+        long hash = hash(word);
+        int block = block(hash);
+        int key = (int) hash;
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            long bit = 1L << ((key * SALTS[i]) >>> 26);
+            int index = block + i;
+            long current = bits.get(index);
+            while ((current & bit) == 0 && !bits.compareAndSet(index, current, current | bit)) {
+                current = bits.get(index);
+            }
+        }
+    }
+
+    /***
+     * @param word the word to look for
+     * @return false if the word was definitely never added, true if it may have been
+     */
+    boolean mightContain(String word) {
+        long hash = hash(word);
+        int block = block(hash);
+        int key = (int) hash;
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            long bit = 1L << ((key * SALTS[i]) >>> 26);
+            if ((bits.get(block + i) & bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /***
+     * @return the index of the first long of the word's block
+     */
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32) * BLOCK_LONGS;
+    }
+
+    /***
+     * Spreads the String's cached hash code over 64 bits.
+     */
+    private static long hash(String word) {
+        long hash = word.hashCode();
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
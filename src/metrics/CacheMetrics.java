@@ -0,0 +1,64 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Hits, misses and evictions of a cache, and the entries and bytes it currently holds.
+ * Lookups only pay for an atomic increment, and the usage is published by the cache as it changes.
+ */
+public class CacheMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile long entries;
+    private volatile long bytes;
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public void evicted() {
+        evictions.increment();
+    }
+
+    /***
+     * @param entries the number of entries in the cache
+     * @param bytes the total weight of the entries, in bytes
+     */
+    public void setUsage(long entries, long bytes) {
+        this.entries = entries;
+        this.bytes = bytes;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,95 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Counts and latencies of the requests carried out for one command of the dictionary protocol.
+ *
+ * A request is counted once, whatever the number of words it carries. Its errors are the operations it failed:
+ * a word not found, already existing or malformed, or a request that could not be carried out at all, so a batch
+ * request may count several errors.
+ */
+public class CommandMetrics implements CommandStatsMXBean {
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final String name;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    CommandMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /***
+     * Records a request carried out.
+     *
+     * @param nanos the time taken to carry out the request, in nanoseconds
+     */
+    public void record(long nanos) {
+        requests.increment();
+        latency.record(nanos);
+    }
+
+    /***
+     * Records a failed operation of a request.
+     */
+    public void failed() {
+        errors.increment();
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.getMean() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.getPercentile(50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return latency.getPercentile(90) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.getPercentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.getPercentile(99.9) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.getMax() / NANOS_PER_MICRO;
+    }
+}
@@ -0,0 +1,30 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+/***
+ * JMX view of the requests carried out for one command of the dictionary protocol.
+ * Latencies are in microseconds.
+ */
+public interface CommandStatsMXBean {
+
+    long getRequests();
+
+    long getErrors();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+}
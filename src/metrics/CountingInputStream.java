@@ -0,0 +1,49 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/***
+ * Input stream counting the bytes read from a client connection into the server's metrics.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private final ServerMetrics metrics;
+
+    public CountingInputStream(InputStream in, ServerMetrics metrics) {
+        super(in);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            metrics.bytesIn(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            metrics.bytesIn(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        metrics.bytesIn(skipped);
+        return skipped;
+    }
+}
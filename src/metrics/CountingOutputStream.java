@@ -0,0 +1,36 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/***
+ * Output stream counting the bytes written to a client connection into the server's metrics.
+ */
+public class CountingOutputStream extends FilterOutputStream {
+
+    private final ServerMetrics metrics;
+
+    public CountingOutputStream(OutputStream out, ServerMetrics metrics) {
+        super(out);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        metrics.bytesOut(1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        metrics.bytesOut(len);
+    }
+}
@@ -0,0 +1,57 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Connections handed to the connection executor: those being handled (active), those accepted but waiting for a
+ * thread (queued), and those turned away because the executor was saturated (rejected).
+ */
+public class ExecutorMetrics {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public void queued() {
+        queued.incrementAndGet();
+    }
+
+    /***
+     * Records a queued connection being picked up by a thread.
+     */
+    public void started() {
+        queued.decrementAndGet();
+        active.incrementAndGet();
+    }
+
+    public void finished() {
+        active.decrementAndGet();
+    }
+
+    /***
+     * Records a queued connection being turned away.
+     */
+    public void rejected() {
+        queued.decrementAndGet();
+        rejected.increment();
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
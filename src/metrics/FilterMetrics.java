@@ -0,0 +1,44 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Client searches of missing words answered by a filter without reaching the dictionary (rejected), and searches
+ * the filter let through that found no word (false positives).
+ */
+public class FilterMetrics {
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public void rejected() {
+        rejected.increment();
+    }
+
+    public void falsePositive() {
+        falsePositives.increment();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /***
+     * @return the share of the lookups of missing words that the filter let through, 0 if there were none
+     */
+    public double getFalsePositiveRate() {
+        long falsePositives = getFalsePositives();
+        long missing = falsePositives + getRejected();
+        return missing == 0 ? 0 : (double) falsePositives / missing;
+    }
+}
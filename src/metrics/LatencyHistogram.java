@@ -0,0 +1,117 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Lock-free histogram of durations in nanoseconds, recorded concurrently by any number of threads.
+ *
+ * Durations are counted in log-linear buckets: every power of two is split into 16 buckets of equal width, so a
+ * bucket never spans more than about 6% of the durations it holds, whatever their magnitude. Recording costs
+ * a few bit operations and one atomic increment, and the histogram never grows.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /***
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, counted as 0 if negative
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /***
+     * @return the largest duration counted in the given bucket
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lowest + width - 1;
+    }
+
+    /***
+     * @return the number of durations recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /***
+     * @return the mean of the durations recorded in nanoseconds, or 0 if none was
+     */
+    public long getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : total.sum() / n;
+    }
+
+    /***
+     * @return the longest duration recorded in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /***
+     * Estimates a percentile of the durations recorded, from above.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return a duration in nanoseconds at least as long as the given percentage of the durations recorded,
+     *         within the width of its bucket, or 0 if none was recorded
+     */
+    public long getPercentile(double percentile) {
+
+        long[] counts = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(recorded * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,296 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Metrics of the dictionary server: per-command request counts, errors and latencies, connections and the
+ * connection executor's load, traffic and the time taken to commit mutations to the log. Every recorder is lock-free, so threads serving requests only
+ * pay for a few atomic increments.
+ *
+ * The metrics are read through the stats command of the protocol, and through JMX once registered, as
+ * dictionary:type=Server and one dictionary:type=Command,name=(command) MBean per command.
+ */
+public class ServerMetrics implements ServerStatsMXBean {
+
+    private static final String JMX_DOMAIN = "dictionary";
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final long startNanos = System.nanoTime();
+
+    private final Map<String, CommandMetrics> commands = new ConcurrentSkipListMap<>();
+
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder connectionsClosed = new LongAdder();
+    private final LongAdder connectionsRejected = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    private volatile LatencyHistogram commitTimes = new LatencyHistogram();
+    private volatile ExecutorMetrics executorMetrics = new ExecutorMetrics();
+    private volatile CacheMetrics cacheMetrics = new CacheMetrics();
+    private volatile FilterMetrics filterMetrics = new FilterMetrics();
+
+    private volatile MBeanServer mBeanServer;
+
+    /***
+     * Finds the metrics of a command, creating (and registering) them on first use.
+     * Only known command names should be given, so that clients cannot grow the metrics without bound.
+     *
+     * @param name the name of the command
+     * @return the metrics of the command
+     */
+    public CommandMetrics command(String name) {
+        CommandMetrics metrics = commands.get(name);
+        if (metrics == null) {
+            CommandMetrics created = new CommandMetrics(name);
+            metrics = commands.putIfAbsent(name, created);
+            if (metrics == null) {
+                metrics = created;
+                register(created, "type=Command,name=" + ObjectName.quote(name));
+            }
+        }
+        return metrics;
+    }
+
+    public void connectionOpened() {
+        connectionsOpened.increment();
+    }
+
+    public void connectionClosed() {
+        connectionsClosed.increment();
+    }
+
+    public void connectionRejected() {
+        connectionsRejected.increment();
+    }
+
+    public void bytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    public void bytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    /***
+     * @param commitTimes the histogram the log writer records the time taken by each group commit to
+     */
+    public void setCommitTimes(LatencyHistogram commitTimes) {
+        this.commitTimes = commitTimes;
+    }
+
+    /***
+     * @param executorMetrics the metrics of the executor running the handlers of the connections (blocking engine)
+     */
+    public void setExecutorMetrics(ExecutorMetrics executorMetrics) {
+        this.executorMetrics = executorMetrics;
+    }
+
+    /***
+     * @param cacheMetrics the metrics of the cache of search replies
+     */
+    public void setCacheMetrics(CacheMetrics cacheMetrics) {
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    /***
+     * @param filterMetrics the metrics of the filter answering the lookups of missing words
+     */
+    public void setFilterMetrics(FilterMetrics filterMetrics) {
+        this.filterMetrics = filterMetrics;
+    }
+
+    /***
+     * Registers the server's MBeans, and the MBeans of its commands as they are first used, with the platform
+     * MBean server.
+     *
+     * @return true if the server's MBean was registered
+     */
+    public boolean registerMBeans() {
+        mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        boolean registered = register(this, "type=Server");
+        for (CommandMetrics metrics : commands.values()) {
+            register(metrics, "type=Command,name=" + ObjectName.quote(metrics.getName()));
+        }
+        return registered;
+    }
+
+    private boolean register(Object mBean, String properties) {
+        MBeanServer server = mBeanServer;
+        if (server == null) {
+            return false;
+        }
+        try {
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":" + properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mBean, name);
+            }
+            return true;
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    /***
+     * Formats every metric into a single line, as fields separated by (>), each holding a name and its
+     * comma-separated values:
+     * uptime:(s)>connections:opened=(n),active=(n),rejected=(n)>executor:active=(n),queued=(n),rejected=(n)>
+     * bytes:in=(n),out=(n)>
+     * commit:count=(n),p50=(us),p99=(us),max=(us)>cache:hits=(n),misses=(n),evictions=(n),entries=(n),bytes=(n)>
+     * filter:rejected=(n),falsepositives=(n),fpp=(ratio)>(command):requests=(n),errors=(n),p50=(us),p90=(us),p99=(us),
+     * p999=(us),max=(us)>...
+     *
+     * @return the line of metrics, without a line terminator
+     */
+    public String format() {
+
+        List<String> fields = new ArrayList<>();
+        fields.add("uptime:" + getUptimeSeconds());
+        fields.add("connections:opened=" + getConnectionsOpened() + ",active=" + getConnectionsActive() +
+                   ",rejected=" + getConnectionsRejected());
+        fields.add("executor:active=" + getExecutorActive() + ",queued=" + getExecutorQueued() +
+                   ",rejected=" + getExecutorRejected());
+        fields.add("bytes:in=" + getBytesIn() + ",out=" + getBytesOut());
+        fields.add("commit:count=" + getCommits() + ",p50=" + micros(commitTimes.getPercentile(50)) +
+                   ",p99=" + micros(commitTimes.getPercentile(99)) + ",max=" + micros(commitTimes.getMax()));
+        fields.add("cache:hits=" + getCacheHits() + ",misses=" + getCacheMisses() + ",evictions=" +
+                   getCacheEvictions() + ",entries=" + getCacheEntries() + ",bytes=" + getCacheBytes());
+        fields.add("filter:rejected=" + getFilterRejected() + ",falsepositives=" + getFilterFalsePositives() +
+                   ",fpp=" + String.format(Locale.ROOT, "%.4f", getFilterFalsePositiveRate()));
+
+        for (CommandMetrics metrics : commands.values()) {
+            LatencyHistogram latency = metrics.getLatency();
+            fields.add(metrics.getName() + ":requests=" + metrics.getRequests() + ",errors=" + metrics.getErrors() +
+                       ",p50=" + micros(latency.getPercentile(50)) + ",p90=" + micros(latency.getPercentile(90)) +
+                       ",p99=" + micros(latency.getPercentile(99)) + ",p999=" + micros(latency.getPercentile(99.9)) +
+                       ",max=" + micros(latency.getMax()));
+        }
+
+        return String.join(">", fields);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Override
+    public long getUptimeSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    @Override
+    public long getConnectionsActive() {
+        return connectionsOpened.sum() - connectionsClosed.sum();
+    }
+
+    @Override
+    public long getConnectionsRejected() {
+        return connectionsRejected.sum();
+    }
+
+    @Override
+    public long getExecutorActive() {
+        return executorMetrics.getActive();
+    }
+
+    @Override
+    public long getExecutorQueued() {
+        return executorMetrics.getQueued();
+    }
+
+    @Override
+    public long getExecutorRejected() {
+        return executorMetrics.getRejected();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getCommits() {
+        return commitTimes.getCount();
+    }
+
+    @Override
+    public double getCommitP50Micros() {
+        return commitTimes.getPercentile(50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getCommitP99Micros() {
+        return commitTimes.getPercentile(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getCommitMaxMicros() {
+        return commitTimes.getMax() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheMetrics.getHits();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMetrics.getMisses();
+    }
+
+    @Override
+    public long getCacheEvictions() {
+        return cacheMetrics.getEvictions();
+    }
+
+    @Override
+    public long getCacheEntries() {
+        return cacheMetrics.getEntries();
+    }
+
+    @Override
+    public long getCacheBytes() {
+        return cacheMetrics.getBytes();
+    }
+
+    @Override
+    public long getFilterRejected() {
+        return filterMetrics.getRejected();
+    }
+
+    @Override
+    public long getFilterFalsePositives() {
+        return filterMetrics.getFalsePositives();
+    }
+
+    @Override
+    public double getFilterFalsePositiveRate() {
+        return filterMetrics.getFalsePositiveRate();
+    }
+}
@@ -0,0 +1,56 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package metrics;
+
+/***
+ * JMX view of the connections, connection executor, traffic, persistence, reply cache and word filter of the dictionary server.
+ * Latencies are in microseconds.
+ */
+public interface ServerStatsMXBean {
+
+    long getUptimeSeconds();
+
+    long getConnectionsOpened();
+
+    long getConnectionsActive();
+
+    long getConnectionsRejected();
+
+    long getExecutorActive();
+
+    long getExecutorQueued();
+
+    long getExecutorRejected();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    long getCommits();
+
+    double getCommitP50Micros();
+
+    double getCommitP99Micros();
+
+    double getCommitMaxMicros();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    long getCacheEvictions();
+
+    long getCacheEntries();
+
+    long getCacheBytes();
+
+    long getFilterRejected();
+
+    long getFilterFalsePositives();
+
+    double getFilterFalsePositiveRate();
+}
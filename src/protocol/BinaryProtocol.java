@@ -0,0 +1,266 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package protocol;
+
+import java.io.*;
+import java.net.ProtocolException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/***
+ * Compact binary alternative to the text protocol of the dictionary server.
+ *
+ * A client opts in by sending the two preface bytes (MAGIC)(VERSION) as the very first bytes of its connection,
+ * which the server echoes back before reading any frame. A connection that starts with anything else keeps
+ * the text protocol.
+ *
+ * Every frame is length-prefixed: (int length)(int request id)(byte opcode or status)(payload), where length
+ * counts the bytes after itself. Strings are (int length)(UTF-8 bytes) and lists of definitions are
+ * (int count)(strings). The payload of a single command is (word)(definitions), with no definitions for search
+ * and delete; a batch is (int count) followed by (byte opcode)(word)(definitions) per command. A reply's payload
+ * is (definitions), found by a search, or (int count) followed by (byte status)(definitions) per batch item.
+ */
+public final class BinaryProtocol {
+
+    public static final byte MAGIC = (byte) 0xB1;
+    public static final byte VERSION = 1;
+
+    public static final byte ADD = 1;
+    public static final byte SEARCH = 2;
+    public static final byte UPDATE = 3;
+    public static final byte DELETE = 4;
+    public static final byte BATCH = 5;
+
+    public static final byte OK = 0;
+    public static final byte NOT_FOUND = 1;
+    public static final byte ALREADY_EXISTS = 2;
+    public static final byte BAD_REQUEST = 3;
+    public static final byte SERVER_ERROR = 4;
+
+    public static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    // Request id and opcode or status
+    private static final int FRAME_HEADER_LENGTH = Integer.BYTES + 1;
+
+    private BinaryProtocol() {
+    }
+
+    /***
+     * @return the two bytes a client sends to open a binary connection, and the server echoes back
+     */
+    public static byte[] preface() {
+        return new byte[]{MAGIC, VERSION};
+    }
+
+    /***
+     * Encodes a request into a complete frame, length prefix included.
+     *
+     * @param request the request to encode
+     * @return the frame bytes
+     */
+    public static byte[] encodeRequest(BinaryRequest request) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(request.getRequestId());
+            out.writeByte(request.getOpcode());
+            if (request.getOpcode() == BATCH) {
+                out.writeInt(request.getItems().size());
+                for (BinaryRequest item : request.getItems()) {
+                    out.writeByte(item.getOpcode());
+                    writeString(out, item.getWord());
+                    writeList(out, item.getDefinitions());
+                }
+            } else {
+                writeString(out, request.getWord());
+                writeList(out, request.getDefinitions());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return withLength(bytes.toByteArray());
+    }
+
+    /***
+     * Encodes a reply into a complete frame, length prefix included.
+     *
+     * @param reply the reply to encode
+     * @param batch true if the reply answers a batch request
+     * @return the frame bytes
+     */
+    public static byte[] encodeReply(BinaryReply reply, boolean batch) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(reply.getRequestId());
+            out.writeByte(reply.getStatus());
+            if (batch) {
+                out.writeInt(reply.getItems().size());
+                for (BinaryReply item : reply.getItems()) {
+                    out.writeByte(item.getStatus());
+                    writeList(out, item.getDefinitions());
+                }
+            } else {
+                writeList(out, reply.getDefinitions());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return withLength(bytes.toByteArray());
+    }
+
+    private static byte[] withLength(byte[] frame) {
+        ByteBuffer.wrap(frame).putInt(0, frame.length - Integer.BYTES);
+        return frame;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeList(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /***
+     * Decodes a request frame.
+     *
+     * @param frame the frame bytes following the length prefix
+     * @return the decoded request
+     * @throws ProtocolException if the frame is malformed
+     */
+    public static BinaryRequest decodeRequest(ByteBuffer frame) throws ProtocolException {
+        try {
+            int requestId = frame.getInt();
+            byte opcode = frame.get();
+
+            if (opcode == BATCH) {
+                int count = readCount(frame, FRAME_HEADER_LENGTH);
+                List<BinaryRequest> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    byte itemOpcode = frame.get();
+                    items.add(BinaryRequest.of(requestId, itemOpcode, readString(frame), readList(frame)));
+                }
+                return BinaryRequest.batch(requestId, items);
+            }
+
+            return BinaryRequest.of(requestId, opcode, readString(frame), readList(frame));
+
+        } catch (BufferUnderflowException e) {
+            throw new ProtocolException("Truncated request frame.");
+        }
+    }
+
+    /***
+     * Decodes a reply frame.
+     *
+     * @param frame the frame bytes following the length prefix
+     * @param batch true if the reply answers a batch request
+     * @return the decoded reply
+     * @throws ProtocolException if the frame is malformed
+     */
+    public static BinaryReply decodeReply(ByteBuffer frame, boolean batch) throws ProtocolException {
+        try {
+            int requestId = frame.getInt();
+            byte status = frame.get();
+
+            if (batch) {
+                int count = readCount(frame, 1 + Integer.BYTES);
+                List<BinaryReply> items = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    byte itemStatus = frame.get();
+                    items.add(BinaryReply.of(requestId, itemStatus, readList(frame)));
+                }
+                return new BinaryReply(requestId, status, Collections.emptyList(), items);
+            }
+
+            return BinaryReply.of(requestId, status, readList(frame));
+
+        } catch (BufferUnderflowException e) {
+            throw new ProtocolException("Truncated reply frame.");
+        }
+    }
+
+    /***
+     * Peeks at the request id of a frame, to answer even a frame that cannot be decoded.
+     *
+     * @param frame the frame bytes following the length prefix
+     * @return the request id, or 0 if the frame is too short to hold one
+     */
+    public static int peekRequestId(ByteBuffer frame) {
+        return frame.remaining() >= Integer.BYTES ? frame.getInt(frame.position()) : 0;
+    }
+
+    /***
+     * Reads a count of items, each taking at least the given number of bytes.
+     */
+    private static int readCount(ByteBuffer frame, int minimumItemLength) throws ProtocolException {
+        int count = frame.getInt();
+        if (count < 0 || count > frame.remaining() / minimumItemLength) {
+            throw new ProtocolException("Invalid item count in frame.");
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer frame) throws ProtocolException {
+        int length = frame.getInt();
+        if (length < 0 || length > frame.remaining()) {
+            throw new ProtocolException("Invalid string length in frame.");
+        }
+        String value = new String(frame.array(), frame.arrayOffset() + frame.position(), length,
+                                  StandardCharsets.UTF_8);
+        frame.position(frame.position() + length);
+        return value;
+    }
+
+    private static List<String> readList(ByteBuffer frame) throws ProtocolException {
+        int count = readCount(frame, Integer.BYTES);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(frame));
+        }
+        return values;
+    }
+
+    /***
+     * Reads the next frame from a blocking stream.
+     *
+     * @param in the stream to read from
+     * @return the frame bytes following the length prefix, or null at the end of the stream
+     * @throws IOException if the stream fails or announces an oversized frame
+     */
+    public static ByteBuffer readFrame(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < FRAME_HEADER_LENGTH || length > MAX_FRAME_LENGTH) {
+            throw new ProtocolException("Invalid frame length: " + length);
+        }
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return ByteBuffer.wrap(frame);
+    }
+
+    /***
+     * @return true if the given frame length is acceptable
+     */
+    public static boolean isValidFrameLength(int length) {
+        return length >= FRAME_HEADER_LENGTH && length <= MAX_FRAME_LENGTH;
+    }
+}
@@ -0,0 +1,57 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package protocol;
+
+import java.util.Collections;
+import java.util.List;
+
+/***
+ * A reply of the binary protocol: the status of a command and, for a found word, its definitions,
+ * or one such result per command of a batch.
+ */
+public class BinaryReply {
+
+    private final int requestId;
+    private final byte status;
+    private final List<String> definitions;
+    private final List<BinaryReply> items;
+
+    public BinaryReply(int requestId, byte status, List<String> definitions, List<BinaryReply> items) {
+        this.requestId = requestId;
+        this.status = status;
+        this.definitions = definitions;
+        this.items = items;
+    }
+
+    /***
+     * Creates the reply of a single command.
+     *
+     * @param requestId the id of the request being answered
+     * @param status the status code of the command
+     * @param definitions the definitions found by a search, empty otherwise
+     * @return the reply
+     */
+    public static BinaryReply of(int requestId, byte status, List<String> definitions) {
+        return new BinaryReply(requestId, status, definitions, Collections.emptyList());
+    }
+
+    public int getRequestId() {
+        return requestId;
+    }
+
+    public byte getStatus() {
+        return status;
+    }
+
+    public List<String> getDefinitions() {
+        return definitions;
+    }
+
+    public List<BinaryReply> getItems() {
+        return items;
+    }
+}
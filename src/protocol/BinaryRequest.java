@@ -0,0 +1,82 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package protocol;
+
+import java.util.Collections;
+import java.util.List;
+
+/***
+ * A request of the binary protocol: a dictionary command on a word, or a batch of such commands.
+ */
+public class BinaryRequest {
+
+    private final int requestId;
+    private final byte opcode;
+    private final String word;
+    private final List<String> definitions;
+    private final List<BinaryRequest> items;
+
+    private BinaryRequest(int requestId, byte opcode, String word, List<String> definitions,
+                          List<BinaryRequest> items) {
+        this.requestId = requestId;
+        this.opcode = opcode;
+        this.word = word;
+        this.definitions = definitions;
+        this.items = items;
+    }
+
+    /***
+     * Creates a request for a single command.
+     *
+     * @param requestId the id echoed back in the reply
+     * @param opcode the command's opcode (add, search, update or delete)
+     * @param word the word the command operates on
+     * @param definitions the word's definitions for add and update, empty otherwise
+     * @return the request
+     */
+    public static BinaryRequest of(int requestId, byte opcode, String word, List<String> definitions) {
+        return new BinaryRequest(requestId, opcode, word, definitions, Collections.emptyList());
+    }
+
+    /***
+     * Creates a request carrying many commands, answered with one result per command.
+     *
+     * @param requestId the id echoed back in the reply
+     * @param items the commands of the batch, whose own request ids are ignored
+     * @return the request
+     */
+    public static BinaryRequest batch(int requestId, List<BinaryRequest> items) {
+        return new BinaryRequest(requestId, BinaryProtocol.BATCH, "", Collections.emptyList(), items);
+    }
+
+    public int getRequestId() {
+        return requestId;
+    }
+
+    public byte getOpcode() {
+        return opcode;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public List<String> getDefinitions() {
+        return definitions;
+    }
+
+    public List<BinaryRequest> getItems() {
+        return items;
+    }
+
+    /***
+     * @return a copy of this request with the given request id
+     */
+    public BinaryRequest withRequestId(int requestId) {
+        return new BinaryRequest(requestId, opcode, word, definitions, items);
+    }
+}
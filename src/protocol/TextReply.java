@@ -0,0 +1,185 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package protocol;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/***
+ * A reply of the text protocol, encoded as UTF-8 straight into a reusable buffer.
+ *
+ * A connection reuses a single TextReply for all its replies, so that definitions are written out one
+ * character at a time instead of being joined into an intermediate String and then encoded.
+ * Unpaired surrogate characters are encoded as '?', as by the standard UTF-8 encoder.
+ *
+ * A reply that was encoded once and kept, such as the search reply of a word, is shared rather than copied,
+ * and handed as it is to the stream or channel it is written to.
+ */
+public class TextReply {
+
+    private static final int INITIAL_SIZE = 256;
+
+    private byte[] bytes = new byte[INITIAL_SIZE];
+    private int length;
+
+    // A whole reply encoded beforehand, standing for the reply until anything is appended to it
+    private byte[] shared;
+
+    /***
+     * Empties the reply, keeping its buffer.
+     */
+    public void clear() {
+        length = 0;
+        shared = null;
+    }
+
+    /***
+     * @return the number of bytes in the reply
+     */
+    public int length() {
+        return shared != null ? shared.length : length;
+    }
+
+    /***
+     * Makes a whole reply, encoded beforehand, the content of this reply without copying it.
+     *
+     * @param encoded the encoded reply, including its line terminator, which must never be modified
+     * @return this reply
+     */
+    public TextReply share(byte[] encoded) {
+        length = 0;
+        shared = encoded;
+        return this;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (shared != null) {
+            // Appending to a shared reply turns it into a copy
+            byte[] encoded = shared;
+            shared = null;
+            append(encoded);
+        }
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    /***
+     * Appends bytes already encoded as UTF-8, such as a constant reply.
+     *
+     * @param encoded the bytes to append
+     * @return this reply
+     */
+    public TextReply append(byte[] encoded) {
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, bytes, length, encoded.length);
+        length += encoded.length;
+        return this;
+    }
+
+    /***
+     * Appends a single ASCII character, such as a delimiter or line terminator.
+     *
+     * @param c the character to append, below 0x80
+     * @return this reply
+     */
+    public TextReply append(char c) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) c;
+        return this;
+    }
+
+    /***
+     * Appends a String, encoded as UTF-8.
+     *
+     * @param text the String to append
+     * @return this reply
+     */
+    public TextReply append(String text) {
+
+        int count = text.length();
+        // Every char takes at most 3 bytes; a surrogate pair takes 4 bytes for 2 chars
+        ensureCapacity(count * 3);
+
+        for (int i = 0; i < count; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[length++] = '?';
+                }
+            } else {
+                bytes[length++] = (byte) (0xE0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    /***
+     * Appends Strings separated by an ASCII delimiter.
+     *
+     * @param values the Strings to append
+     * @param delimiter the delimiter between two Strings, below 0x80
+     * @return this reply
+     */
+    public TextReply appendJoined(List<String> values, char delimiter) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                append(delimiter);
+            }
+            append(values.get(i));
+        }
+        return this;
+    }
+
+    /***
+     * Writes the reply to a stream.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the reply cannot be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (shared != null) {
+            out.write(shared);
+        } else {
+            out.write(bytes, 0, length);
+        }
+    }
+
+    /***
+     * @return the reply as a buffer that outlives this reply: the shared reply itself, or a copy of the reply's bytes
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(shared != null ? shared : Arrays.copyOf(bytes, length));
+    }
+
+    /***
+     * @return the reply, decoded from UTF-8
+     */
+    @Override
+    public String toString() {
+        return shared != null
+               ? new String(shared, StandardCharsets.UTF_8)
+               : new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
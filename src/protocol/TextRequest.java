@@ -0,0 +1,296 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/***
+ * A request line of the text protocol, split into its (>)-separated tokens where it lies in the input buffer.
+ *
+ * A connection reuses a single TextRequest for all its request lines: parsing records the bounds of each token
+ * without copying or decoding anything, and a token only becomes a String when the request needs one, so that
+ * commands are recognised and words are looked up without any intermediate String or List.
+ *
+ * Tokens follow the rules of String.split: trailing empty tokens are dropped, unless the line has no delimiter
+ * at all. A line stays valid until the next one is parsed or read.
+ */
+public class TextRequest {
+
+    private static final byte TOKEN_DELIMITER = '>';
+    private static final byte DEFINITION_DELIMITER = ';';
+
+    private static final int INITIAL_TOKENS = 8;
+    private static final int INITIAL_INPUT_SIZE = 8 * 1024;
+
+    // The line being parsed
+    private byte[] line;
+    private int lineOffset;
+    private int lineLength;
+
+    private int[] tokenStarts = new int[INITIAL_TOKENS];
+    private int[] tokenEnds = new int[INITIAL_TOKENS];
+    private int tokenCount;
+
+    // Whether the line is all ASCII, so that its tokens can be copied into Strings without decoding
+    private boolean ascii;
+
+    // Bytes read from a stream by readFrom, and not yet returned as a line
+    private byte[] input;
+    private int inputStart;
+    private int inputEnd;
+    private boolean skipLineFeed;
+
+    /***
+     * Splits a request line into its tokens. The bytes are not copied, and must not change while the request is used.
+     *
+     * @param bytes the buffer holding the request line, as UTF-8
+     * @param offset the offset of the line in the buffer
+     * @param length the length of the line, without its line terminator
+     */
+    public void parse(byte[] bytes, int offset, int length) {
+
+        line = bytes;
+        lineOffset = offset;
+        lineLength = length;
+        tokenCount = 0;
+
+        int end = offset + length;
+        int start = offset;
+        boolean delimited = false;
+        int highBits = 0;
+
+        for (int i = offset; i < end; i++) {
+            byte b = bytes[i];
+            highBits |= b;
+            if (b == TOKEN_DELIMITER) {
+                addToken(start, i);
+                start = i + 1;
+                delimited = true;
+            }
+        }
+        addToken(start, end);
+        ascii = highBits >= 0;
+
+        if (delimited) {
+            while (tokenCount > 0 && tokenStarts[tokenCount - 1] == tokenEnds[tokenCount - 1]) {
+                tokenCount--;
+            }
+        }
+    }
+
+    private void addToken(int start, int end) {
+        if (tokenCount == tokenStarts.length) {
+            tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+            tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+        }
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = end;
+        tokenCount++;
+    }
+
+    /***
+     * Reads the next request line from a stream into the request's own buffer, and parses it.
+     * Lines are terminated by \n, \r or \r\n, as with BufferedReader.readLine; the last line of the stream
+     * needs no terminator.
+     *
+     * @param in the stream of request lines, read in bulk
+     * @return true if a line was read, false at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    public boolean readFrom(InputStream in) throws IOException {
+
+        if (input == null) {
+            input = new byte[INITIAL_INPUT_SIZE];
+        }
+
+        int scan = inputStart;
+
+        while (true) {
+
+            // A \r ending the previous line may be followed by the \n of the same terminator
+            if (skipLineFeed && inputStart < inputEnd) {
+                if (input[inputStart] == '\n') {
+                    inputStart++;
+                }
+                skipLineFeed = false;
+                scan = Math.max(scan, inputStart);
+            }
+
+            for (; scan < inputEnd; scan++) {
+                byte b = input[scan];
+                if (b == '\n' || b == '\r') {
+                    parse(input, inputStart, scan - inputStart);
+                    inputStart = scan + 1;
+                    skipLineFeed = b == '\r';
+                    return true;
+                }
+            }
+
+            // Makes room for more of the line, keeping its start at the beginning of the buffer
+            if (inputStart > 0) {
+                System.arraycopy(input, inputStart, input, 0, inputEnd - inputStart);
+                scan -= inputStart;
+                inputEnd -= inputStart;
+                inputStart = 0;
+            }
+            if (inputEnd == input.length) {
+                input = Arrays.copyOf(input, input.length * 2);
+            }
+
+            int read = in.read(input, inputEnd, input.length - inputEnd);
+            if (read == -1) {
+                if (inputEnd > inputStart) {
+                    parse(input, inputStart, inputEnd - inputStart);
+                    inputStart = inputEnd;
+                    return true;
+                }
+                return false;
+            }
+            inputEnd += read;
+        }
+    }
+
+    /***
+     * @return the number of tokens in the request line, the first being the command
+     */
+    public int tokenCount() {
+        return tokenCount;
+    }
+
+    /***
+     * Finds which of the given ASCII values a token is, without decoding it.
+     *
+     * @param index the index of the token
+     * @param values the values the token may be
+     * @return the value equal to the token, or null if there is none or the line has no such token
+     */
+    public String match(int index, String[] values) {
+
+        if (index >= tokenCount) {
+            return null;
+        }
+
+        int start = tokenStarts[index];
+        int length = tokenEnds[index] - start;
+
+        for (String value : values) {
+            if (value.length() != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && line[start + i] == value.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /***
+     * @param index the index of the token
+     * @return the token, decoded from UTF-8
+     * @throws IndexOutOfBoundsException if the line has no such token
+     */
+    public String token(int index) {
+        checkToken(index);
+        return decode(tokenStarts[index], tokenEnds[index]);
+    }
+
+    private String decode(int start, int end) {
+        // ASCII bytes are the same in ISO-8859-1, which Strings copy as they are
+        return new String(line, start, end - start, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /***
+     * Decodes a token in lower case, as words are kept in the dictionary.
+     * A token that is already in lower case ASCII, as most words are, is decoded without any intermediate String.
+     *
+     * @param index the index of the token
+     * @return the token, decoded from UTF-8 and in lower case
+     * @throws IndexOutOfBoundsException if the line has no such token
+     */
+    public String word(int index) {
+        checkToken(index);
+        byte[] bytes = line;
+        int start = tokenStarts[index];
+        int end = tokenEnds[index];
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if (b < 0 || (b >= 'A' && b <= 'Z')) {
+                return decode(start, end).toLowerCase();
+            }
+        }
+        return decode(start, end);
+    }
+
+    /***
+     * Decodes a token holding semicolon-separated definitions, following the rules of String.split.
+     *
+     * @param index the index of the token
+     * @return the definitions in the token
+     * @throws IndexOutOfBoundsException if the line has no such token
+     */
+    public List<String> definitions(int index) {
+
+        checkToken(index);
+        byte[] bytes = line;
+        int start = tokenStarts[index];
+        int end = tokenEnds[index];
+
+        List<String> definitions = new ArrayList<>();
+        int definitionStart = start;
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == DEFINITION_DELIMITER) {
+                definitions.add(decode(definitionStart, i));
+                definitionStart = i + 1;
+            }
+        }
+        definitions.add(decode(definitionStart, end));
+
+        if (definitions.size() > 1) {
+            while (!definitions.isEmpty() && definitions.get(definitions.size() - 1).isEmpty()) {
+                definitions.remove(definitions.size() - 1);
+            }
+        }
+        return definitions;
+    }
+
+    /***
+     * Decodes every token from the given one onwards, for the less frequent commands that take a list of them.
+     *
+     * @param from the index of the first token
+     * @return the decoded tokens
+     */
+    public List<String> tokens(int from) {
+        List<String> tokens = new ArrayList<>(Math.max(0, tokenCount - from));
+        for (int i = from; i < tokenCount; i++) {
+            tokens.add(token(i));
+        }
+        return tokens;
+    }
+
+    private void checkToken(int index) {
+        if (index < 0 || index >= tokenCount) {
+            throw new IndexOutOfBoundsException("Request line has no token " + index + ".");
+        }
+    }
+
+    /***
+     * @return the whole request line, decoded from UTF-8
+     */
+    @Override
+    public String toString() {
+        return decode(lineOffset, lineOffset + lineLength);
+    }
+}
@@ -0,0 +1,162 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package server;
+
+import metrics.ExecutorMetrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+
+/***
+ * Runs the handlers of accepted client connections, keeping count of the active, queued and rejected ones.
+ *
+ * Three execution modes are available:
+ *  - thread:  a new platform thread per connection (unbounded)
+ *  - pool:    a fixed-size pool of platform threads with a bounded queue of accepted connections waiting for one
+ *  - virtual: a new virtual thread per connection (Java 21+, falls back to pool mode on older runtimes)
+ */
+public class ConnectionExecutor {
+
+    public enum Mode {
+        THREAD, POOL, VIRTUAL;
+
+        /***
+         * Parses the execution mode given as a server command line option.
+         *
+         * @param option the option value, case-insensitive (thread, pool or virtual)
+         * @return the matching execution mode, or null if there is none
+         */
+        public static Mode fromOption(String option) {
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(option)) {
+                    return mode;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final int DEFAULT_POOL_SIZE = 256;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final Mode mode;
+    private final ExecutorService executor;
+
+    private final ExecutorMetrics metrics = new ExecutorMetrics();
+
+    /***
+     * Constructor for ConnectionExecutor.
+     *
+     * @param mode The requested execution mode
+     * @param poolSize The number of platform threads in pool mode
+     * @param queueCapacity The number of accepted connections that may wait for a thread in pool mode
+     */
+    public ConnectionExecutor(Mode mode, int poolSize, int queueCapacity) {
+
+        ExecutorService virtualExecutor = mode == Mode.VIRTUAL ? newVirtualThreadExecutor() : null;
+
+        if (virtualExecutor != null) {
+            this.mode = Mode.VIRTUAL;
+            this.executor = virtualExecutor;
+        } else if (mode == Mode.THREAD) {
+            this.mode = Mode.THREAD;
+            this.executor = Executors.newCachedThreadPool();
+        } else {
+            this.mode = Mode.POOL;
+            this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                                                   new ArrayBlockingQueue<>(queueCapacity),
+                                                   new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /***
+     * Looks up Executors.newVirtualThreadPerTaskExecutor(), which only exists on Java 21+ runtimes.
+     *
+     * @return a virtual-thread-per-task executor, or null if the runtime does not support virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /***
+     * @return the execution mode actually in use
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /***
+     * @return the counts of the active, queued and rejected connections, to be reported with the server metrics
+     */
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /***
+     * @return the number of connections currently being handled
+     */
+    public int getActiveConnections() {
+        return metrics.getActive();
+    }
+
+    /***
+     * @return the number of accepted connections waiting for a thread
+     */
+    public int getQueuedConnections() {
+        return metrics.getQueued();
+    }
+
+    /***
+     * @return the number of connections turned away because the pool and its queue were full
+     */
+    public long getRejectedConnections() {
+        return metrics.getRejected();
+    }
+
+    /***
+     * Hands a connection's handler over to the executor.
+     *
+     * @param handler the handler of the accepted connection
+     * @return true if the handler was accepted, false if it was rejected because the server is saturated
+     */
+    public boolean execute(Runnable handler) {
+
+        metrics.queued();
+
+        try {
+            executor.execute(() -> {
+                metrics.started();
+                try {
+                    handler.run();
+                } finally {
+                    metrics.finished();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            metrics.rejected();
+            return false;
+        }
+    }
+
+    /***
+     * Stops accepting new connections and waits briefly for the ones being handled to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,39 +6,37 @@
 
 package server;
 
-import thread.MultithreadedDictionary;
-
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Iterator;
+import java.util.List;
 
 public class DictionaryServer extends JFrame {
 
     private JPanel mainPanel;
     private JTextArea recordLogTextArea;
 
-    private static final String MESSAGE_CARET = " > ";
-
-    private static final String PORT_OPTION = "-p";
-    private static final String FILE_OPTION = "-f";
+    private final int recordLogViewLines;
 
-    private static final int DEFAULT_PORT = 3000;
-    private static final String DEFAULT_DICTIONARY = "";
-
-    private static final int MIN_PORT_NUM = 1024;
-    private static final int MAX_PORT_NUM = 65535;
+    private static final String MESSAGE_CARET = " > ";
 
-    public DictionaryServer(String title) {
+    /***
+     * Constructor for DictionaryServer.
+     *
+     * @param title The title of the server window
+     * @param recordLog The log of the server's activity
+     * @param recordLogViewLines The number of most recent log messages shown in the window, or 0 to show none
+     */
+    public DictionaryServer(String title, RecordLog recordLog, int recordLogViewLines) {
         super(title);
 
+        this.recordLogViewLines = recordLogViewLines;
+        if (recordLogViewLines > 0) {
+            recordLog.addView(this::showRecords);
+        }
+
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setContentPane(mainPanel);
         pack();
@@ -53,6 +51,7 @@ public class DictionaryServer extends JFrame {
                         "Would you like to shut down the server?", "Confirm Shutdown",
                         JOptionPane.YES_NO_OPTION);
                 if (n == 0) {
+                    // The shutdown hook writes every pending mutation before the server exits
                     System.exit(0);
                 }
             }
@@ -60,93 +59,58 @@ public class DictionaryServer extends JFrame {
     }
 
     /***
-     * Main function of the dictionary server.
+     * Main function of the dictionary server, kept for launching the server with its GUI.
+     * See {@link DictionaryServerLauncher}, which also runs the server headless without loading the GUI.
      *
      * @param args Command line arguments for the server
      */
     public static void main(String[] args) {
+        DictionaryServerLauncher.main(args);
+    }
 
-        // Parsing the argument options for the server port for the server socket and
-        // the initial dictionary file to be loaded into the server
-
-        int port = DEFAULT_PORT;
-        String dictionaryFile = DEFAULT_DICTIONARY;
-
-        try {
-
-            Iterator<String> it = Arrays.asList(args).iterator();
-
-            while (it.hasNext()) {
-                String option = it.next();
-                String tempNext;
-
-                switch (option) {
-                    case PORT_OPTION:
-                        if (it.hasNext()) port = Integer.parseInt(it.next());
-                        if (port < MIN_PORT_NUM || port > MAX_PORT_NUM) port = DEFAULT_PORT;
-                        break;
-                    case FILE_OPTION:
-                        if (it.hasNext() && (tempNext = it.next()).endsWith(".csv")) dictionaryFile = tempNext;
-                        break;
-                    default:
-                        break;
-                }
-
-            }
-        } catch (NumberFormatException e) {
-            System.out.println("Non-integer port value for Server. Fallback to port "+DEFAULT_PORT+".");
-        }
-
-        // Variables to store server and incoming clients
-        Socket clientSocket;
-
-        // Initialise and launch the Server GUI
-        DictionaryServer server = new DictionaryServer("Multi-threaded Dictionary Server");
+    /***
+     * Initialises and launches the Server GUI, showing the most recent messages of the record log.
+     *
+     * @param options The options the server was started with
+     * @param recordLog The log of the server's activity
+     */
+    static void launch(ServerOptions options, RecordLog recordLog) {
+        DictionaryServer server = new DictionaryServer("Multi-threaded Dictionary Server", recordLog,
+                                                       options.getLogViewLines());
         server.setVisible(true);
         server.setResizable(false);
         server.setSize(600, 420);
         Toolkit toolKit = server.getToolkit();
         Dimension size = toolKit.getScreenSize();
         server.setLocation(size.width/2 - server.getWidth()/2, size.height/2 - server.getHeight()/2);
-
-
-        try (ServerSocket serverSocket = new ServerSocket(port)) {
-
-            // Open the server socket to listen to incoming connections
-            server.addToRecordLog("Each incoming connection will have: (datetime, remote host, " +
-                                               "remote port, local port)");
-            server.addToRecordLog("Server listening for connections on port " +  port + "...");
-
-            int clientNumber = 0;
-
-            // Indefinitely listen for and accept incoming client connections, creating and starting a thread for each.
-            // Log the incoming connection in the server GUI.
-            while (true) {
-
-                clientSocket = serverSocket.accept();
-                Thread t = new Thread(new MultithreadedDictionary(clientSocket, clientNumber,  server, dictionaryFile));
-                server.addToRecordLog("Connected with client " + clientNumber + " (" +
-                                LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss")) +
-                                ", " + clientSocket.getInetAddress().getHostName() +
-                                ", " + clientSocket.getPort() +
-                                ", " + clientSocket.getLocalPort());
-                clientNumber++;
-                t.start();
-
-            }
-
-        } catch (IOException e) {
-            System.out.println("Error setting up server socket.");
-        }
     }
 
     /***
-     * Formats and logs the message to the server GUI.
+     * Formats and appends a batch of logged messages to the server GUI on the event dispatch thread,
+     * keeping only the most recent lines.
      *
-     * @param logMessage the message to be logged
+     * @param logMessages the messages logged, in order
      */
-    public void addToRecordLog(String logMessage) {
-        recordLogTextArea.append(MESSAGE_CARET + logMessage + "\n");
+    private void showRecords(List<String> logMessages) {
+
+        StringBuilder text = new StringBuilder();
+        for (String logMessage : logMessages) {
+            text.append(MESSAGE_CARET).append(logMessage).append("\n");
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            recordLogTextArea.append(text.toString());
+
+            // The text always ends with a line terminator, followed by an empty last line
+            int excessLines = recordLogTextArea.getLineCount() - 1 - recordLogViewLines;
+            if (excessLines > 0) {
+                try {
+                    recordLogTextArea.replaceRange("", 0, recordLogTextArea.getLineEndOffset(excessLines - 1));
+                } catch (BadLocationException e) {
+                    recordLogTextArea.setText("");
+                }
+            }
+        });
     }
 
 }
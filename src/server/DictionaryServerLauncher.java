@@ -0,0 +1,60 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package server;
+
+import java.util.List;
+
+/***
+ * Entry point of the dictionary server.
+ *
+ * The server runs with its GUI, or headless when asked to with -u headless or when no display is available.
+ * In headless mode, no AWT or Swing class is ever loaded, and the record log goes to standard output as well as
+ * to the log file. In both modes, the server shuts down cleanly when the JVM is asked to exit (for instance on
+ * SIGTERM): it stops accepting connections and writes every pending mutation before exiting.
+ */
+public class DictionaryServerLauncher {
+
+    private static final String MESSAGE_CARET = " > ";
+
+    /***
+     * Main function of the dictionary server.
+     *
+     * @param args Command line arguments for the server
+     */
+    public static void main(String[] args) {
+
+        ServerOptions options = ServerOptions.parse(args);
+
+        // Requests only queue their log messages, which are written to the log file and the views by a single thread
+        RecordLog recordLog = new RecordLog(options.getLogFile(), RecordLog.DEFAULT_BUFFER_CAPACITY);
+
+        // The GUI is only referenced from this branch, so that its classes are not loaded in headless mode
+        if (options.isHeadless()) {
+            recordLog.addView(DictionaryServerLauncher::printRecords);
+        } else {
+            DictionaryServer.launch(options, recordLog);
+        }
+
+        DictionaryService service = new DictionaryService(options, recordLog);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            service.shutdown();
+            recordLog.close();
+        }, "dictionary-shutdown"));
+
+        service.run();
+    }
+
+    private static void printRecords(List<String> logMessages) {
+        StringBuilder text = new StringBuilder();
+        for (String logMessage : logMessages) {
+            text.append(MESSAGE_CARET).append(logMessage).append(System.lineSeparator());
+        }
+        System.out.print(text);
+        System.out.flush();
+    }
+}
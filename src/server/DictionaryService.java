@@ -0,0 +1,204 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package server;
+
+import dictionary.DictionaryStore;
+import metrics.ServerMetrics;
+import thread.DictionaryRequestHandler;
+import thread.MultithreadedDictionary;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/***
+ * The dictionary engine and the server engine accepting its clients, independently of any user interface.
+ * The same service runs behind the server GUI and in headless mode.
+ */
+public class DictionaryService {
+
+    private final ServerOptions options;
+    private final RecordLog recordLog;
+
+    private DictionaryStore dictionary;
+    private NioDictionaryServer nioServer;
+    private ConnectionExecutor executor;
+    private ServerSocket serverSocket;
+
+    private volatile boolean running = true;
+    private boolean shutDown = false;
+
+    /***
+     * Constructor for DictionaryService.
+     *
+     * @param options The options the server was started with
+     * @param recordLog The log to record the server's activity to
+     */
+    public DictionaryService(ServerOptions options, RecordLog recordLog) {
+        this.options = options;
+        this.recordLog = recordLog;
+    }
+
+    /***
+     * Loads the dictionary and serves client connections until the service is shut down.
+     */
+    public void run() {
+
+        // Load the dictionary file (and its mutation log) once into the internal server memory
+        // shared by all client connections
+        DictionaryStore dictionary;
+        try {
+            dictionary = new DictionaryStore(recordLog, options.getDictionaryFile(), options.getPersistence());
+        } catch (IOException e) {
+            recordLog.log("Error recovering the dictionary mutation log.");
+            return;
+        }
+
+        synchronized (this) {
+            if (!running) {
+                dictionary.close();
+                return;
+            }
+            this.dictionary = dictionary;
+        }
+
+        // Metrics are read through the stats command, and through JMX
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.setCommitTimes(dictionary.getCommitTimes());
+        metrics.setFilterMetrics(dictionary.getFilterMetrics());
+        if (!metrics.registerMBeans()) {
+            recordLog.log("Error registering the server metrics with JMX.");
+        }
+
+        DictionaryRequestHandler requestHandler = new DictionaryRequestHandler(recordLog, dictionary, metrics,
+                                                                               options.getReplyCacheBytes());
+
+        if (options.getEngine().equals(ServerOptions.NIO_ENGINE)) {
+            serveNonBlocking(requestHandler);
+        } else {
+            serveBlocking(requestHandler);
+        }
+    }
+
+    private void serveNonBlocking(DictionaryRequestHandler requestHandler) {
+
+        // Requests are read by a few selector threads and carried out by a pool of worker threads,
+        // which by default has one thread per processor
+        int workerThreads = options.getPoolSize() > 0
+                            ? options.getPoolSize()
+                            : Runtime.getRuntime().availableProcessors();
+
+        try {
+            NioDictionaryServer nioServer = new NioDictionaryServer(recordLog, requestHandler,
+                                                                    options.getSelectorThreads(), workerThreads);
+            synchronized (this) {
+                if (!running) {
+                    nioServer.shutdown();
+                    return;
+                }
+                this.nioServer = nioServer;
+            }
+            nioServer.serve(options.getPort());
+        } catch (IOException e) {
+            recordLog.log("Error setting up server socket.");
+        }
+    }
+
+    private void serveBlocking(DictionaryRequestHandler requestHandler) {
+
+        // Client connection handlers are run by the selected connection executor
+        int poolSize = options.getPoolSize() > 0 ? options.getPoolSize() : ConnectionExecutor.DEFAULT_POOL_SIZE;
+        ConnectionExecutor executor = new ConnectionExecutor(options.getExecutorMode(), poolSize,
+                                                             options.getQueueCapacity());
+        requestHandler.getMetrics().setExecutorMetrics(executor.getMetrics());
+        if (executor.getMode() != options.getExecutorMode()) {
+            recordLog.log("Virtual threads are not supported by this Java runtime. " +
+                          "Fallback to a pool of " + poolSize + " threads.");
+        }
+
+        try (ServerSocket serverSocket = new ServerSocket(options.getPort())) {
+
+            synchronized (this) {
+                if (!running) {
+                    return;
+                }
+                this.executor = executor;
+                this.serverSocket = serverSocket;
+            }
+
+            // Open the server socket to listen to incoming connections
+            recordLog.log("Each incoming connection will have: (datetime, remote host, " +
+                          "remote port, local port)");
+            recordLog.log("Server listening for connections on port " + options.getPort() + "...");
+
+            int clientNumber = 0;
+
+            // Listen for and accept incoming client connections until shut down, handing each to the executor.
+            // Log the incoming connection in the record log.
+            while (running) {
+
+                Socket clientSocket = serverSocket.accept();
+                MultithreadedDictionary handler = new MultithreadedDictionary(clientSocket, clientNumber,
+                                                                              recordLog, requestHandler);
+                recordLog.logConnection(clientNumber, clientSocket);
+
+                if (!executor.execute(handler)) {
+                    recordLog.log("Rejected client " + clientNumber + ": server is saturated (" +
+                                  executor.getActiveConnections() + " active, " +
+                                  executor.getQueuedConnections() + " queued, " +
+                                  executor.getRejectedConnections() + " rejected).");
+                    handler.reject();
+                }
+                clientNumber++;
+
+            }
+
+        } catch (IOException e) {
+            // The server socket is closed by shutdown() to stop accepting connections
+            if (running) {
+                recordLog.log("Error setting up server socket.");
+            }
+        }
+    }
+
+    /***
+     * Stops accepting connections, waits briefly for the requests being carried out to finish,
+     * and writes every pending mutation of the dictionary before closing it.
+     * Only the first call has any effect.
+     */
+    public void shutdown() {
+
+        synchronized (this) {
+            if (shutDown) {
+                return;
+            }
+            shutDown = true;
+            running = false;
+        }
+
+        recordLog.log("Shutting down the server...");
+
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                recordLog.log("Error closing server socket.");
+            }
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+        if (nioServer != null) {
+            nioServer.shutdown();
+        }
+        if (dictionary != null) {
+            dictionary.close();
+        }
+
+        recordLog.log("Server shut down.");
+    }
+}
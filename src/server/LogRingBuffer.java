@@ -0,0 +1,104 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/***
+ * Bounded, lock-free ring buffer of log messages, written by any number of threads and read by a single one.
+ *
+ * Every slot carries a sequence number telling whether it is free for the producer claiming position n
+ * (sequence n) or holds the message published at position n (sequence n + 1). Producers claim positions with
+ * a compare-and-set and never wait: when the consumer has fallen a whole lap behind, offering fails at once.
+ */
+class LogRingBuffer {
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] messages;
+    private final long[] times;
+
+    private final AtomicLong producerPosition = new AtomicLong();
+    private long consumerPosition;
+
+    /***
+     * Constructor for LogRingBuffer.
+     *
+     * @param capacity The number of messages the buffer can hold, rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.messages = new String[size];
+        this.times = new long[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /***
+     * Publishes a message, unless the buffer is full.
+     *
+     * @param message the message
+     * @param time the time the message was logged at, in milliseconds since the epoch
+     * @return true if the message was published, false if it was dropped
+     */
+    boolean offer(String message, long time) {
+        long position = producerPosition.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long lag = sequences.get(slot) - position;
+            if (lag == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    messages[slot] = message;
+                    times[slot] = time;
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = producerPosition.get();
+            } else if (lag < 0) {
+                // The slot still holds the message published a lap ago
+                return false;
+            } else {
+                position = producerPosition.get();
+            }
+        }
+    }
+
+    /***
+     * Moves published messages, in order, out of the buffer. Only called by the consumer thread.
+     *
+     * @param messages the array to move the messages to, from its start and up to its length
+     * @param times the array to copy the time of each message to
+     * @return the number of messages moved
+     */
+    int drain(String[] messages, long[] times) {
+        int drained = 0;
+        while (drained < messages.length) {
+            int slot = (int) consumerPosition & mask;
+            if (sequences.get(slot) != consumerPosition + 1) {
+                break;
+            }
+            messages[drained] = this.messages[slot];
+            times[drained] = this.times[slot];
+            this.messages[slot] = null;
+            sequences.set(slot, consumerPosition + mask + 1);
+            consumerPosition++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /***
+     * @return true if no published message is waiting for the consumer. Only called by the consumer thread.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) consumerPosition & mask) != consumerPosition + 1;
+    }
+}
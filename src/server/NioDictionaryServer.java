@@ -0,0 +1,606 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package server;
+
+import protocol.BinaryProtocol;
+import protocol.BinaryReply;
+import protocol.BinaryRequest;
+import protocol.TextReply;
+import protocol.TextRequest;
+import thread.DictionaryRequestHandler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * Non-blocking server engine, as an alternative to the thread-per-connection accept loop of the dictionary server.
+ *
+ * Accepted connections are spread over a small number of selector threads, which read request bytes as they
+ * arrive and split them into lines (or binary protocol frames) without ever blocking on an idle client.
+ * Complete requests are carried out by a pool of worker threads, one request at a time per connection so that
+ * replies keep the order of the requests, and the replies are written back by the connection's selector thread.
+ */
+public class NioDictionaryServer {
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+    private static final int MAX_PIPELINED_REQUESTS = 1024;
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    private static final long FLUSH_POLL_MILLIS = 10;
+
+    private final RecordLog recordLog;
+    private final DictionaryRequestHandler requestHandler;
+    private final ExecutorService workers;
+    private final SelectorLoop[] selectorLoops;
+
+    // Connections registered with a selector thread and not yet closed
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    // Shutdown stages: no more accepting, then no more reading, then closing every connection left
+    private volatile boolean running = true;
+    private volatile boolean draining = false;
+    private volatile boolean stopped = false;
+    private final CountDownLatch readsStopped;
+    private volatile ServerSocketChannel serverChannel;
+
+    /***
+     * Constructor for NioDictionaryServer.
+     *
+     * @param recordLog The log to record the connections to
+     * @param requestHandler The handler carrying out the dictionary commands
+     * @param selectorThreads The number of selector threads multiplexing the connections
+     * @param workerThreads The number of worker threads carrying out the requests
+     * @throws IOException if a selector cannot be opened
+     */
+    public NioDictionaryServer(RecordLog recordLog, DictionaryRequestHandler requestHandler,
+                               int selectorThreads, int workerThreads) throws IOException {
+
+        this.recordLog = recordLog;
+        this.requestHandler = requestHandler;
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        this.selectorLoops = new SelectorLoop[selectorThreads];
+        this.readsStopped = new CountDownLatch(selectorThreads);
+
+        for (int i = 0; i < selectorThreads; i++) {
+            selectorLoops[i] = new SelectorLoop(Selector.open());
+            Thread t = new Thread(selectorLoops[i], "dictionary-selector-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /***
+     * Indefinitely accepts incoming client connections on the given port, handing each to a selector thread
+     * in turn. Log the incoming connection in the record log.
+     *
+     * @param port The port to listen to
+     * @throws IOException if the server socket cannot be opened
+     */
+    public void serve(int port) throws IOException {
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+
+            this.serverChannel = serverChannel;
+            serverChannel.bind(new InetSocketAddress(port));
+            recordLog.log("Each incoming connection will have: (datetime, remote host, " +
+                                  "remote port, local port)");
+            recordLog.log("Server listening for connections on port " + port + " (non-blocking)...");
+
+            int clientNumber = 0;
+
+            while (running) {
+                SocketChannel channel = accept(serverChannel);
+                if (channel == null) {
+                    continue;
+                }
+                recordLog.logConnection(clientNumber, channel.socket());
+                requestHandler.getMetrics().connectionOpened();
+
+                selectorLoops[clientNumber % selectorLoops.length].register(
+                        new Connection(channel, clientNumber));
+                clientNumber++;
+            }
+        } catch (ClosedChannelException e) {
+            // The server socket is closed by shutdown() to stop accepting connections
+            if (running) {
+                throw e;
+            }
+        }
+    }
+
+    /***
+     * Accepts the next connection and makes it non-blocking. A connection that cannot be accepted, such as when the
+     * server has run out of file descriptors, is logged and left waiting in the backlog, and accepting resumes after
+     * a pause so that a lasting error does not flood the log.
+     *
+     * @return the accepted connection, or null if none could be accepted
+     * @throws ClosedChannelException if the server socket was closed
+     */
+    private SocketChannel accept(ServerSocketChannel serverChannel) throws ClosedChannelException {
+        SocketChannel channel = null;
+        try {
+            channel = serverChannel.accept();
+            channel.configureBlocking(false);
+            return channel;
+        } catch (ClosedChannelException e) {
+            throw e;
+        } catch (IOException e) {
+            recordLog.log("Error accepting a connection: " + e.getMessage());
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException closeError) {
+                    // The connection is dropped either way
+                }
+            }
+            try {
+                Thread.sleep(ACCEPT_RETRY_MILLIS);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    }
+
+    /***
+     * Stops the server without dropping the requests already received. Accepting and reading stop first, then the
+     * workers carry out every request waiting, and the selector threads send their replies and close each
+     * connection once it has nothing left to send. Connections that cannot be flushed within the shutdown timeout,
+     * such as those of clients no longer reading their replies, are closed regardless.
+     */
+    public void shutdown() {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+
+        running = false;
+        ServerSocketChannel channel = serverChannel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                recordLog.log("Error closing server socket.");
+            }
+        }
+
+        try {
+            // Once every selector thread has stopped reading, no request can be added to a connection
+            draining = true;
+            wakeSelectors();
+            readsStopped.await(remaining(deadline), TimeUnit.MILLISECONDS);
+
+            workers.shutdown();
+            workers.awaitTermination(remaining(deadline), TimeUnit.MILLISECONDS);
+
+            // The selector threads close the connections as their last replies are written
+            while (openConnections.get() > 0 && remaining(deadline) > 0) {
+                Thread.sleep(FLUSH_POLL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        stopped = true;
+        wakeSelectors();
+    }
+
+    private void wakeSelectors() {
+        for (SelectorLoop loop : selectorLoops) {
+            loop.selector.wakeup();
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    /***
+     * State of a single client connection, shared by its selector thread and the worker carrying out its requests.
+     */
+    private class Connection {
+
+        private final SocketChannel channel;
+        private final int clientNumber;
+        private SelectorLoop loop;
+        private SelectionKey key;
+
+        // Bytes of the request line (or frame) being received, owned by the selector thread
+        private byte[] line = new byte[256];
+        private int lineLength = 0;
+        private boolean skipLineFeed = false;
+
+        // Decided by the first byte the client sends: null until then, true for the binary protocol preface
+        private volatile Boolean binary = null;
+        private boolean awaitingVersion = false;
+
+        // Request lines, or binary frames without their length prefix, waiting to be carried out
+        private final Queue<byte[]> requests = new ConcurrentLinkedQueue<>();
+        private final Queue<ByteBuffer> replies = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean processing = new AtomicBoolean(false);
+
+        // Reused for every request line, only ever by the single worker processing the connection
+        private final TextRequest textRequest = new TextRequest();
+        private final TextReply textReply = new TextReply();
+
+        // Set once the client stops sending; the connection closes once its requests are carried out and replied to
+        private volatile boolean closing = false;
+
+        // Set once a request fails; the requests still waiting are dropped
+        private volatile boolean failed = false;
+
+        private Connection(SocketChannel channel, int clientNumber) {
+            this.channel = channel;
+            this.clientNumber = clientNumber;
+        }
+
+        /***
+         * Splits the bytes read from the client into requests, after deciding on the connection's protocol.
+         *
+         * @return false if a request is longer than the server accepts
+         */
+        private boolean decode(ByteBuffer buffer) {
+
+            if (binary == null && buffer.hasRemaining()) {
+                if (buffer.get(buffer.position()) == BinaryProtocol.MAGIC) {
+                    buffer.get();
+                    awaitingVersion = true;
+                    replies.add(ByteBuffer.wrap(BinaryProtocol.preface()));
+                    binary = true;
+                } else {
+                    binary = false;
+                }
+            }
+
+            if (awaitingVersion && buffer.hasRemaining()) {
+                // The version byte of the client's preface; version 1 is the only one so far
+                buffer.get();
+                awaitingVersion = false;
+            }
+
+            return binary != null && binary ? decodeFrames(buffer) : decodeLines(buffer);
+        }
+
+        /***
+         * Splits the bytes read from the client into request lines, terminated by \n, \r or \r\n as with the
+         * blocking engine's {@link TextRequest#readFrom}.
+         */
+        private boolean decodeLines(ByteBuffer buffer) {
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (skipLineFeed) {
+                    // A \r ending the previous line may be followed by the \n of the same terminator
+                    skipLineFeed = false;
+                    if (b == '\n') {
+                        continue;
+                    }
+                }
+                if (b == '\n' || b == '\r') {
+                    requests.add(Arrays.copyOf(line, lineLength));
+                    lineLength = 0;
+                    skipLineFeed = b == '\r';
+                } else {
+                    if (lineLength == line.length) {
+                        if (line.length >= MAX_LINE_LENGTH) {
+                            return false;
+                        }
+                        line = Arrays.copyOf(line, Math.min(line.length * 2, MAX_LINE_LENGTH));
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+            return true;
+        }
+
+        /***
+         * Splits the bytes read from the client into length-prefixed binary protocol frames.
+         */
+        private boolean decodeFrames(ByteBuffer buffer) {
+
+            int needed = lineLength + buffer.remaining();
+            if (needed > line.length) {
+                line = Arrays.copyOf(line, Math.max(needed, line.length * 2));
+            }
+            int read = buffer.remaining();
+            buffer.get(line, lineLength, read);
+            lineLength += read;
+
+            int offset = 0;
+            while (lineLength - offset >= Integer.BYTES) {
+                int length = ByteBuffer.wrap(line, offset, Integer.BYTES).getInt();
+                if (!BinaryProtocol.isValidFrameLength(length)) {
+                    return false;
+                }
+                if (lineLength - offset - Integer.BYTES < length) {
+                    break;
+                }
+                requests.add(Arrays.copyOfRange(line, offset + Integer.BYTES, offset + Integer.BYTES + length));
+                offset += Integer.BYTES + length;
+            }
+
+            System.arraycopy(line, offset, line, 0, lineLength - offset);
+            lineLength -= offset;
+            return true;
+        }
+
+        /***
+         * Hands the connection to a worker if it has requests waiting and no worker is already carrying them out.
+         */
+        private void schedule() {
+            if (!requests.isEmpty() && processing.compareAndSet(false, true)) {
+                try {
+                    workers.execute(this::process);
+                } catch (RejectedExecutionException e) {
+                    // The workers were shut down after failing to finish in time
+                    processing.set(false);
+                    fail();
+                }
+            }
+        }
+
+        /***
+         * Carries out the waiting requests in order, on a worker thread.
+         */
+        private void process() {
+            byte[] request;
+            while (!failed && (request = requests.poll()) != null) {
+                try {
+                    if (binary) {
+                        replies.add(ByteBuffer.wrap(handleFrame(request)));
+                    } else {
+                        textRequest.parse(request, 0, request.length);
+                        if (requestHandler.handle(clientNumber, textRequest, textReply)) {
+                            replies.add(textReply.toByteBuffer());
+                        }
+                    }
+                } catch (IOException e) {
+                    recordLog.log("Error reading/writing stream.");
+                    fail();
+                } catch (Exception e) {
+                    recordLog.log("Error operating server.");
+                    fail();
+                }
+                loop.update(this);
+            }
+            processing.set(false);
+
+            // A request may have arrived between the last poll and releasing the connection
+            schedule();
+            loop.update(this);
+        }
+
+        /***
+         * Carries out a binary protocol frame, answering a malformed one with a bad request status.
+         */
+        private byte[] handleFrame(byte[] request) {
+            ByteBuffer frame = ByteBuffer.wrap(request);
+            try {
+                BinaryRequest decoded = BinaryProtocol.decodeRequest(frame);
+                return BinaryProtocol.encodeReply(requestHandler.handle(clientNumber, decoded),
+                                                  decoded.getOpcode() == BinaryProtocol.BATCH);
+            } catch (ProtocolException e) {
+                return BinaryProtocol.encodeReply(BinaryReply.of(BinaryProtocol.peekRequestId(frame.rewind()),
+                                                                 BinaryProtocol.BAD_REQUEST,
+                                                                 Collections.emptyList()), false);
+            }
+        }
+
+        private void fail() {
+            failed = true;
+            closing = true;
+            requests.clear();
+        }
+
+        /***
+         * @return true once the connection has nothing left to receive, carry out or send
+         */
+        private boolean isDone() {
+            return (closing || draining) && requests.isEmpty() && !processing.get() && replies.isEmpty();
+        }
+    }
+
+    /***
+     * A selector thread multiplexing the reads and writes of its share of the connections.
+     */
+    private class SelectorLoop implements Runnable {
+
+        private final Selector selector;
+        private final Queue<Connection> registrations = new ConcurrentLinkedQueue<>();
+        private final Queue<Connection> updates = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+        // Set by the selector thread once it has seen the server draining, after which it never reads again
+        private boolean readingStopped = false;
+
+        private SelectorLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        private void register(Connection connection) {
+            connection.loop = this;
+            openConnections.incrementAndGet();
+            registrations.add(connection);
+            selector.wakeup();
+        }
+
+        /***
+         * Asks the selector thread to recompute the interest of a connection, after a worker queued a reply.
+         */
+        private void update(Connection connection) {
+            updates.add(connection);
+            selector.wakeup();
+        }
+
+        /***
+         * The run function of the selector thread.
+         */
+        @Override
+        public void run() {
+
+            while (!stopped) {
+                try {
+                    selector.select();
+
+                    Connection connection;
+                    while ((connection = registrations.poll()) != null) {
+                        connection.key = connection.channel.register(selector, SelectionKey.OP_READ, connection);
+                        if (readingStopped) {
+                            updateInterest(connection);
+                        }
+                    }
+                    if (draining && !readingStopped) {
+                        stopReading();
+                    }
+                    while ((connection = updates.poll()) != null) {
+                        updateInterest(connection);
+                    }
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        connection = (Connection) key.attachment();
+
+                        if (key.isValid() && key.isReadable() && !readingStopped) {
+                            read(connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write(connection);
+                        }
+                        if (key.isValid()) {
+                            updateInterest(connection);
+                        }
+                    }
+                } catch (IOException e) {
+                    recordLog.log("Error operating server.");
+                }
+            }
+
+            Connection connection;
+            while ((connection = registrations.poll()) != null) {
+                close(connection);
+            }
+            for (SelectionKey key : selector.keys()) {
+                close((Connection) key.attachment());
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                recordLog.log("Error operating server.");
+            }
+        }
+
+        /***
+         * Stops reading from every connection, closing those with nothing left to carry out or send.
+         */
+        private void stopReading() {
+            readingStopped = true;
+            for (SelectionKey key : selector.keys()) {
+                updateInterest((Connection) key.attachment());
+            }
+            readsStopped.countDown();
+        }
+
+        private void read(Connection connection) {
+            try {
+                readBuffer.clear();
+                int read = connection.channel.read(readBuffer);
+
+                if (read == -1) {
+                    connection.closing = true;
+                    return;
+                }
+                requestHandler.getMetrics().bytesIn(read);
+
+                readBuffer.flip();
+                if (!connection.decode(readBuffer)) {
+                    recordLog.log("Client " + connection.clientNumber + " sent an oversized request.");
+                    connection.fail();
+                    return;
+                }
+                connection.schedule();
+
+            } catch (IOException e) {
+                recordLog.log("Error reading/writing stream.");
+                close(connection);
+            }
+        }
+
+        private void write(Connection connection) {
+            try {
+                ByteBuffer reply;
+                while ((reply = connection.replies.peek()) != null) {
+                    requestHandler.getMetrics().bytesOut(connection.channel.write(reply));
+                    if (reply.hasRemaining()) {
+                        return;
+                    }
+                    connection.replies.poll();
+                }
+            } catch (IOException e) {
+                recordLog.log("Error reading/writing stream.");
+                close(connection);
+            }
+        }
+
+        /***
+         * Reads only while the client has not too many requests waiting, writes only while replies are waiting,
+         * and closes the connection once it is done.
+         */
+        private void updateInterest(Connection connection) {
+
+            SelectionKey key = connection.key;
+            if (key == null || !key.isValid()) {
+                return;
+            }
+
+            if (connection.isDone()) {
+                close(connection);
+                return;
+            }
+
+            int ops = 0;
+            if (!connection.closing && !readingStopped && connection.requests.size() < MAX_PIPELINED_REQUESTS) {
+                ops |= SelectionKey.OP_READ;
+            }
+            if (!connection.replies.isEmpty()) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            key.interestOps(ops);
+        }
+
+        private void close(Connection connection) {
+            if (!connection.channel.isOpen()) {
+                return;
+            }
+            if (connection.key != null) {
+                connection.key.cancel();
+            }
+            try {
+                connection.channel.close();
+            } catch (IOException e) {
+                recordLog.log("Error reading/writing stream.");
+            }
+            connection.fail();
+            openConnections.decrementAndGet();
+            requestHandler.getMetrics().connectionClosed();
+            recordLog.log("Connection with client " + connection.clientNumber + " is now closed.");
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package server;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/***
+ * Asynchronous record log of the server's activity.
+ *
+ * Threads serving requests only publish their messages to a lock-free ring buffer, and never wait for the log:
+ * when the buffer is full, the message is dropped and counted instead. A single writer thread drains the buffer
+ * in batches, appends them to a rolling log file and hands them to the views (such as the server GUI) in turn.
+ */
+public class RecordLog {
+
+    public static final String DEFAULT_LOG_FILENAME = "dictionary-server.log";
+    public static final int DEFAULT_BUFFER_CAPACITY = 64 * 1024;
+
+    private static final long MAX_LOG_FILE_BYTES = 10 * 1024 * 1024;
+    private static final int MAX_ROLLED_LOG_FILES = 5;
+
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+
+    private static final String MESSAGE_CARET = " > ";
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final LogRingBuffer buffer;
+    private final File logFile;
+    private final List<Consumer<List<String>>> views = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong dropped = new AtomicLong();
+    private long droppedReported;
+
+    private OutputStream out;
+    private long logFileBytes;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    /***
+     * Constructor for RecordLog. Starts the writer thread.
+     *
+     * @param logFileName The name of the log file in the root directory, or an empty String to log to views only
+     * @param bufferCapacity The number of messages waiting to be written past which new messages are dropped
+     */
+    public RecordLog(String logFileName, int bufferCapacity) {
+
+        this.buffer = new LogRingBuffer(bufferCapacity);
+        this.logFile = logFileName.isEmpty()
+                       ? null
+                       : new File(System.getProperty("user.dir") + File.separator + logFileName);
+
+        if (logFile != null) {
+            try {
+                openLogFile();
+            } catch (IOException e) {
+                System.out.println("Error opening the server log file.");
+            }
+        }
+
+        this.writer = new Thread(this::run, "record-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /***
+     * Adds a view that is handed every batch of messages written, in order, on the writer thread.
+     *
+     * @param view the view, given the messages without their time
+     */
+    public void addView(Consumer<List<String>> view) {
+        views.add(view);
+    }
+
+    /***
+     * @return the number of messages dropped because the buffer was full
+     */
+    public long getDroppedMessages() {
+        return dropped.get();
+    }
+
+    /***
+     * Publishes a message to the log without waiting for it to be written.
+     *
+     * @param message the message to be logged
+     */
+    public void log(String message) {
+        if (!buffer.offer(message, System.currentTimeMillis())) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /***
+     * Logs an incoming client connection.
+     *
+     * @param clientNumber the number given to the client
+     * @param clientSocket the socket of the accepted connection
+     */
+    public void logConnection(int clientNumber, Socket clientSocket) {
+        log("Connected with client " + clientNumber + " (" +
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss")) +
+            ", " + clientSocket.getInetAddress().getHostName() +
+            ", " + clientSocket.getPort() +
+            ", " + clientSocket.getLocalPort());
+    }
+
+    private void run() {
+
+        String[] messages = new String[MAX_BATCH_SIZE];
+        long[] times = new long[MAX_BATCH_SIZE];
+
+        while (true) {
+            int count = buffer.drain(messages, times);
+
+            if (count == 0) {
+                if (!running) {
+                    break;
+                }
+                // The flag is raised before checking the buffer again, so that a message published meanwhile
+                // either is seen here or unparks the writer
+                idle = true;
+                if (buffer.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+
+            List<String> batch = new ArrayList<>(Arrays.asList(messages).subList(0, count));
+            long[] batchTimes = Arrays.copyOf(times, count);
+            Arrays.fill(messages, 0, count, null);
+
+            long droppedNow = dropped.get();
+            if (droppedNow > droppedReported) {
+                batch.add("Dropped " + (droppedNow - droppedReported) + " log message(s): the log buffer was full.");
+                batchTimes = Arrays.copyOf(batchTimes, count + 1);
+                batchTimes[count] = System.currentTimeMillis();
+                droppedReported = droppedNow;
+            }
+
+            write(batch, batchTimes);
+            for (Consumer<List<String>> view : views) {
+                view.accept(batch);
+            }
+        }
+
+        closeLogFile();
+    }
+
+    private void write(List<String> batch, long[] times) {
+
+        if (out == null) {
+            return;
+        }
+
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                byte[] line = (TIME_FORMAT.format(Instant.ofEpochMilli(times[i])) + MESSAGE_CARET + batch.get(i) +
+                               "\n").getBytes(StandardCharsets.UTF_8);
+                out.write(line);
+                logFileBytes += line.length;
+            }
+            out.flush();
+
+            if (logFileBytes >= MAX_LOG_FILE_BYTES) {
+                rollLogFile();
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing to the server log file.");
+            closeLogFile();
+        }
+    }
+
+    private void openLogFile() throws IOException {
+        out = new BufferedOutputStream(new FileOutputStream(logFile, true));
+        logFileBytes = logFile.length();
+    }
+
+    /***
+     * Moves the full log file to (log file).1, shifting older files up to the maximum number kept, and opens
+     * a new log file.
+     */
+    private void rollLogFile() throws IOException {
+        out.close();
+        out = null;
+        for (int i = MAX_ROLLED_LOG_FILES - 1; i >= 1; i--) {
+            File older = new File(logFile.getPath() + "." + i);
+            if (older.exists()) {
+                Files.move(older.toPath(), new File(logFile.getPath() + "." + (i + 1)).toPath(),
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(logFile.toPath(), new File(logFile.getPath() + ".1").toPath(),
+                   StandardCopyOption.REPLACE_EXISTING);
+        openLogFile();
+    }
+
+    private void closeLogFile() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.out.println("Error closing the server log file.");
+        }
+        out = null;
+    }
+
+    /***
+     * Writes every message already published, then stops the writer thread and closes the log file.
+     */
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package server;
+
+import dictionary.DurabilityMode;
+import dictionary.PersistenceSettings;
+import dictionary.StorageMode;
+import thread.DictionaryRequestHandler;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/***
+ * Command line options of the dictionary server, with their default values.
+ */
+public class ServerOptions {
+
+    private static final String PORT_OPTION = "-p";
+    private static final String FILE_OPTION = "-f";
+    private static final String COMPACTION_OPTION = "-c";
+    private static final String BATCH_SIZE_OPTION = "-b";
+    private static final String BATCH_WAIT_OPTION = "-w";
+    private static final String DURABILITY_OPTION = "-d";
+    private static final String SYNC_INTERVAL_OPTION = "-i";
+    private static final String EXECUTOR_OPTION = "-e";
+    private static final String POOL_SIZE_OPTION = "-t";
+    private static final String QUEUE_CAPACITY_OPTION = "-q";
+    private static final String ENGINE_OPTION = "-m";
+    private static final String SELECTOR_THREADS_OPTION = "-s";
+    private static final String LOG_FILE_OPTION = "-l";
+    private static final String LOG_VIEW_LINES_OPTION = "-g";
+    private static final String INTERFACE_OPTION = "-u";
+    private static final String REPLY_CACHE_OPTION = "-r";
+    private static final String STORAGE_OPTION = "-k";
+
+    public static final String BLOCKING_ENGINE = "blocking";
+    public static final String NIO_ENGINE = "nio";
+
+    private static final String GUI_INTERFACE = "gui";
+    private static final String HEADLESS_INTERFACE = "headless";
+
+    private static final int DEFAULT_PORT = 3000;
+    private static final String DEFAULT_DICTIONARY = "";
+
+    private static final int MIN_PORT_NUM = 1024;
+    private static final int MAX_PORT_NUM = 65535;
+
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private static final int DEFAULT_LOG_VIEW_LINES = 1000;
+
+    private int port = DEFAULT_PORT;
+    private String dictionaryFile = DEFAULT_DICTIONARY;
+    private final PersistenceSettings persistence = new PersistenceSettings();
+    private ConnectionExecutor.Mode executorMode = ConnectionExecutor.Mode.THREAD;
+    private int poolSize = 0;
+    private int queueCapacity = ConnectionExecutor.DEFAULT_QUEUE_CAPACITY;
+    private String engine = BLOCKING_ENGINE;
+    private int selectorThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private String logFile = RecordLog.DEFAULT_LOG_FILENAME;
+    private int logViewLines = DEFAULT_LOG_VIEW_LINES;
+    private Boolean headless = null;
+    private Long replyCacheBytes = null;
+
+    /***
+     * Parses the argument options for the server port for the server socket, the initial dictionary file
+     * to be loaded into the server, and the tuning of its storage, engine and logging.
+     * Options that are missing or invalid keep their default values.
+     *
+     * @param args Command line arguments for the server
+     * @return the parsed options
+     */
+    public static ServerOptions parse(String[] args) {
+
+        ServerOptions options = new ServerOptions();
+
+        try {
+
+            Iterator<String> it = Arrays.asList(args).iterator();
+
+            while (it.hasNext()) {
+                String option = it.next();
+                String tempNext;
+
+                switch (option) {
+                    case PORT_OPTION:
+                        if (it.hasNext()) options.port = Integer.parseInt(it.next());
+                        if (options.port < MIN_PORT_NUM || options.port > MAX_PORT_NUM) options.port = DEFAULT_PORT;
+                        break;
+                    case FILE_OPTION:
+                        if (it.hasNext() && (tempNext = it.next()).endsWith(".csv")) options.dictionaryFile = tempNext;
+                        break;
+                    case COMPACTION_OPTION:
+                        // Size of the mutation log (in megabytes) past which it is compacted into the CSV file
+                        if (it.hasNext()) options.persistence.setCompactionThreshold(
+                                Long.parseLong(it.next()) * BYTES_PER_MEGABYTE);
+                        break;
+                    case BATCH_SIZE_OPTION:
+                        // Maximum number of mutations group-committed to the log in one batch
+                        if (it.hasNext()) options.persistence.setBatchSize(Integer.parseInt(it.next()));
+                        break;
+                    case BATCH_WAIT_OPTION:
+                        // Milliseconds the log writer waits for more mutations to join a batch
+                        if (it.hasNext()) options.persistence.setMaxWaitMillis(Long.parseLong(it.next()));
+                        break;
+                    case DURABILITY_OPTION:
+                        // sync (fsync every batch), interval (fsync every -i milliseconds) or buffered (OS decides)
+                        if (it.hasNext()) options.persistence.setDurabilityMode(DurabilityMode.fromOption(it.next()));
+                        break;
+                    case SYNC_INTERVAL_OPTION:
+                        if (it.hasNext()) options.persistence.setSyncIntervalMillis(Long.parseLong(it.next()));
+                        break;
+                    case EXECUTOR_OPTION:
+                        // thread (one thread per connection), pool (bounded pool) or virtual (Java 21+)
+                        ConnectionExecutor.Mode mode;
+                        if (it.hasNext() && (mode = ConnectionExecutor.Mode.fromOption(it.next())) != null) {
+                            options.executorMode = mode;
+                        }
+                        break;
+                    case POOL_SIZE_OPTION:
+                        if (it.hasNext()) options.poolSize = Math.max(1, Integer.parseInt(it.next()));
+                        break;
+                    case QUEUE_CAPACITY_OPTION:
+                        if (it.hasNext()) options.queueCapacity = Math.max(1, Integer.parseInt(it.next()));
+                        break;
+                    case ENGINE_OPTION:
+                        // blocking (accept loop with a thread per connection) or nio (non-blocking selectors)
+                        if (it.hasNext() && it.next().equalsIgnoreCase(NIO_ENGINE)) options.engine = NIO_ENGINE;
+                        break;
+                    case SELECTOR_THREADS_OPTION:
+                        if (it.hasNext()) options.selectorThreads = Math.max(1, Integer.parseInt(it.next()));
+                        break;
+                    case LOG_FILE_OPTION:
+                        // Name of the rolling log file, or "none" to only log to the server GUI (or standard output)
+                        if (it.hasNext()) {
+                            options.logFile = (tempNext = it.next()).equalsIgnoreCase("none") ? "" : tempNext;
+                        }
+                        break;
+                    case LOG_VIEW_LINES_OPTION:
+                        // Number of most recent log messages kept in the server GUI, 0 to keep none
+                        if (it.hasNext()) options.logViewLines = Math.max(0, Integer.parseInt(it.next()));
+                        break;
+                    case INTERFACE_OPTION:
+                        // gui or headless, detected from the environment if not given
+                        if (it.hasNext()) {
+                            tempNext = it.next();
+                            if (tempNext.equalsIgnoreCase(HEADLESS_INTERFACE)) options.headless = true;
+                            if (tempNext.equalsIgnoreCase(GUI_INTERFACE)) options.headless = false;
+                        }
+                        break;
+                    case STORAGE_OPTION:
+                        // memory (whole dictionary on the heap) or disk (definitions read from the mapped snapshot)
+                        if (it.hasNext()) options.persistence.setStorageMode(StorageMode.fromOption(it.next()));
+                        break;
+                    case REPLY_CACHE_OPTION:
+                        // Size of the cache of the replies to popular searches (in megabytes), 0 to disable it.
+                        // Enabled with 64 megabytes by default in disk storage mode only
+                        if (it.hasNext()) options.replyCacheBytes =
+                                Math.max(0, Long.parseLong(it.next())) * BYTES_PER_MEGABYTE;
+                        break;
+                    default:
+                        break;
+                }
+
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Non-integer option value for Server. Fallback to default values.");
+        }
+
+        return options;
+    }
+
+    /***
+     * Tells whether the server should run without its GUI, either because it was asked to, or because
+     * no display is available. The environment is inspected without loading any AWT class.
+     *
+     * @return true if the server should run headless
+     */
+    public boolean isHeadless() {
+
+        if (headless != null) {
+            return headless;
+        }
+
+        if (Boolean.parseBoolean(System.getProperty("java.awt.headless"))) {
+            return true;
+        }
+
+        // Windows and macOS always have a display, other systems need an X11 or Wayland one
+        String os = System.getProperty("os.name", "").toLowerCase();
+        if (os.contains("win") || os.contains("mac")) {
+            return false;
+        }
+        return System.getenv("DISPLAY") == null && System.getenv("WAYLAND_DISPLAY") == null;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getDictionaryFile() {
+        return dictionaryFile;
+    }
+
+    public PersistenceSettings getPersistence() {
+        return persistence;
+    }
+
+    public ConnectionExecutor.Mode getExecutorMode() {
+        return executorMode;
+    }
+
+    /***
+     * @return the size of the connection pool (blocking engine) or worker pool (nio engine), 0 for the default
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public int getSelectorThreads() {
+        return selectorThreads;
+    }
+
+    public String getLogFile() {
+        return logFile;
+    }
+
+    public int getLogViewLines() {
+        return logViewLines;
+    }
+
+    /***
+     * @return the largest total size of the cached search replies, in bytes, 0 if the cache is disabled. Unless
+     *         given, the cache is only enabled in disk storage mode
+     */
+    public long getReplyCacheBytes() {
+        if (replyCacheBytes != null) {
+            return replyCacheBytes;
+        }
+        return DictionaryRequestHandler.defaultReplyCacheBytes(persistence.getStorageMode());
+    }
+}
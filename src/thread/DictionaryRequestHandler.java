@@ -0,0 +1,777 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package thread;
+
+import dictionary.BatchMutation;
+import dictionary.Definitions;
+import dictionary.DictionaryStore;
+import dictionary.StorageMode;
+import dictionary.TinyLfuCache;
+import metrics.CacheMetrics;
+import metrics.CommandMetrics;
+import metrics.ServerMetrics;
+import protocol.BinaryProtocol;
+import protocol.BinaryReply;
+import protocol.BinaryRequest;
+import protocol.TextReply;
+import protocol.TextRequest;
+import server.RecordLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Carries out the dictionary commands received from clients, independently of how the client is connected
+ * and of the protocol it speaks. A single handler is shared by every connection of the server, whichever
+ * server engine accepted it.
+ */
+public class DictionaryRequestHandler {
+
+    private final RecordLog recordLog;
+    private final DictionaryStore dictionary;
+    private final ServerMetrics metrics;
+
+    // The encoded replies to the searches of popular words, null if disabled
+    private final TinyLfuCache<String, byte[]> replyCache;
+
+    private static final String ADD_COMMAND = "add";
+    private static final String SEARCH_COMMAND = "search";
+    private static final String UPDATE_COMMAND = "update";
+    private static final String DELETE_COMMAND = "delete";
+
+    // Batch variants of the commands, carrying many words (or word and definitions pairs) in one request line
+    private static final String BATCH_ADD_COMMAND = "madd";
+    private static final String BATCH_SEARCH_COMMAND = "msearch";
+    private static final String BATCH_UPDATE_COMMAND = "mupdate";
+    private static final String BATCH_DELETE_COMMAND = "mdelete";
+
+    // Autocomplete: the first words (optionally with their first definition) starting with a prefix
+    private static final String PREFIX_COMMAND = "prefix";
+    private static final String FIRST_DEFINITION_OPTION = "def";
+    private static final int DEFAULT_PREFIX_LIMIT = 10;
+    private static final int MAX_PREFIX_LIMIT = 100;
+
+    // "Did you mean": the existing words closest to a (possibly misspelled) word
+    private static final String FUZZY_COMMAND = "fuzzy";
+    private static final int DEFAULT_FUZZY_DISTANCE = 1;
+    private static final int MAX_FUZZY_DISTANCE = 2;
+    private static final int FUZZY_LIMIT = 10;
+
+    // Reverse lookup: the words whose definitions contain every given term
+    private static final String FIND_COMMAND = "find";
+    private static final int DEFAULT_FIND_LIMIT = 20;
+    private static final int MAX_FIND_LIMIT = 100;
+
+    // The metrics of the server, as a single line
+    private static final String STATS_COMMAND = "stats";
+
+    // Binary batches, and any command the server does not know, are counted under these names
+    private static final String BINARY_BATCH_COMMAND = "batch";
+    private static final String UNKNOWN_COMMAND = "unknown";
+
+    // The most frequent commands first, since a request's command is found by comparing it with each in turn
+    private static final String[] TEXT_COMMANDS = {
+            SEARCH_COMMAND, ADD_COMMAND, UPDATE_COMMAND, DELETE_COMMAND,
+            BATCH_SEARCH_COMMAND, BATCH_ADD_COMMAND, BATCH_UPDATE_COMMAND, BATCH_DELETE_COMMAND,
+            PREFIX_COMMAND, FUZZY_COMMAND, FIND_COMMAND, STATS_COMMAND};
+
+    private static final String SEMICOLON_DELIMITER = ";";
+    private static final String MESSAGE_DELIMITER = ">";
+    private static final char SEMICOLON = ';';
+    private static final char LINE_TERMINATOR = '\n';
+
+    // The replies to single commands of the text protocol, encoded once
+    private static final byte[] UPDATED_REPLY = encode("Dictionary successfully updated!\n");
+    private static final byte[] ALREADY_EXISTS_REPLY = encode("Word already exists.\n");
+    private static final byte[] SEARCH_MISSING_REPLY = encode("Word does not exist.\n");
+    private static final byte[] UPDATE_MISSING_REPLY =
+            encode("Word does not exist. A non-existent word cannot be updated.\n");
+    private static final byte[] DELETE_MISSING_REPLY =
+            encode("Word does not exist.\nA non-existent word cannot be deleted.\n");
+
+    private static final String FIND_UNAVAILABLE_REPLY =
+            "Finding words by their definitions is not available while the dictionary is kept on disk.\n";
+
+    private static final String STATUS_DELIMITER = ":";
+
+    private static final String SUCCESS_SUFFIX = " -> SUCCESS";
+    private static final String ERROR_SUFFIX = " -> ERROR";
+
+    // Default size of the reply cache in disk storage mode, and the bytes an entry takes besides its word and reply
+    public static final long DEFAULT_REPLY_CACHE_BYTES = 64L << 20;
+    private static final int CACHE_ENTRY_OVERHEAD = 96;
+
+    public DictionaryRequestHandler(RecordLog recordLog, DictionaryStore dictionary, ServerMetrics metrics) {
+        this(recordLog, dictionary, metrics, defaultReplyCacheBytes(dictionary.getStorageMode()));
+    }
+
+    /***
+     * Gives the default size of the reply cache. The cache only pays off in disk storage mode, where a search that
+     * misses it reads the word's definitions from the snapshot: in memory storage mode the store already holds
+     * each word's encoded search reply, so the cache is disabled.
+     *
+     * @param storageMode where the dictionary keeps the definitions of its words
+     * @return the default largest total size of the cached search replies, 0 if the cache is disabled
+     */
+    public static long defaultReplyCacheBytes(StorageMode storageMode) {
+        return storageMode == StorageMode.DISK ? DEFAULT_REPLY_CACHE_BYTES : 0;
+    }
+
+    /***
+     * Constructor for DictionaryRequestHandler.
+     *
+     * The replies to the searches of popular words are cached, up to replyCacheBytes, so that a search hitting
+     * the cache does not look up the store at all. A word's reply is dropped from the cache as soon as the word
+     * is updated or deleted.
+     *
+     * @param recordLog The log to record every request to
+     * @param dictionary The dictionary the requests operate on
+     * @param metrics The metrics to record every request to
+     * @param replyCacheBytes The largest total size of the cached search replies, 0 to disable the cache
+     */
+    public DictionaryRequestHandler(RecordLog recordLog, DictionaryStore dictionary, ServerMetrics metrics,
+                                    long replyCacheBytes) {
+        this.recordLog = recordLog;
+        this.dictionary = dictionary;
+        this.metrics = metrics;
+
+        if (replyCacheBytes > 0) {
+            CacheMetrics cacheMetrics = new CacheMetrics();
+            this.replyCache = new TinyLfuCache<>(replyCacheBytes, (word, reply) ->
+                    CACHE_ENTRY_OVERHEAD + 2 * word.length() + reply.length, cacheMetrics);
+            metrics.setCacheMetrics(cacheMetrics);
+            dictionary.addChangeListener(replyCache::invalidate);
+        } else {
+            this.replyCache = null;
+        }
+    }
+
+    /***
+     * @return the metrics of the server, recorded by the handler and the connections it serves
+     */
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /***
+     * Carries out a single request line from a client.
+     *
+     * Messages from the client are received in the format:
+     * (command)>(word)>(semicolon-separated definitions) without the parentheses
+     *
+     * Batch commands carry many items instead, and are answered with one result per item, separated by (>):
+     * madd>(word)>(definitions)>(word)>(definitions)...  and  mupdate>(word)>(definitions)...
+     * msearch>(word)>(word)...  and  mdelete>(word)>(word)...
+     * Each result is a status (OK, NOT_FOUND, ALREADY_EXISTS, BAD_REQUEST or ERROR), followed for a word found
+     * by msearch with (:)(semicolon-separated definitions).
+     *
+     * Prefix requests are sent as prefix>(prefix)>(limit), optionally followed by >def, and are answered with
+     * up to limit words starting with the prefix in alphabetical order, separated by (>), each followed by
+     * (:)(its first definition) if def was given. An empty line is sent back if no word starts with the prefix.
+     *
+     * Fuzzy requests are sent as fuzzy>(word)>(maximum edit distance), and are answered in the same way with
+     * the existing words closest to the word, closest first.
+     *
+     * Find requests are sent as find>(space-separated terms)>(limit), and are answered in the same way with
+     * up to limit words having definitions that contain all of the terms, or with an error message if the
+     * dictionary is kept on disk.
+     *
+     * A stats request is answered with the metrics of the server, as formatted by {@link ServerMetrics#format()}.
+     *
+     * Every request is timed and counted under its command.
+     *
+     * The request line is read from the connection's buffer, and the reply encoded into the connection's buffer,
+     * so that searches and single mutations build no other String than the word and definitions they need.
+     *
+     * @param clientNumber the number of the client that sent the request, for logging
+     * @param request the request line, parsed from the connection's input
+     * @param reply the connection's reply buffer, cleared and then filled with the reply and its line terminator
+     * @return true if a reply is due, false if the command is unknown and no reply is due
+     * @throws IOException if a mutation cannot be persisted
+     * @throws IndexOutOfBoundsException if the request line is malformed
+     */
+    public boolean handle(int clientNumber, TextRequest request, TextReply reply) throws IOException {
+
+        long start = System.nanoTime();
+        String command = request.match(0, TEXT_COMMANDS);
+        CommandMetrics commandMetrics = metrics.command(command != null ? command : UNKNOWN_COMMAND);
+        reply.clear();
+
+        try {
+            return dispatch(clientNumber, command, request, reply, commandMetrics);
+        } catch (IOException | RuntimeException e) {
+            commandMetrics.failed();
+            throw e;
+        } finally {
+            commandMetrics.record(System.nanoTime() - start);
+        }
+    }
+
+    /***
+     * Carries out a parsed request line, counting its failed operations.
+     */
+    private boolean dispatch(int clientNumber, String command, TextRequest request, TextReply reply,
+                             CommandMetrics commandMetrics) throws IOException {
+
+        String other = command != null ? command : "";
+
+        switch (other) {
+            case BATCH_ADD_COMMAND:
+            case BATCH_SEARCH_COMMAND:
+            case BATCH_UPDATE_COMMAND:
+            case BATCH_DELETE_COMMAND:
+                reply.append(handleBatch(clientNumber, command, request.tokens(1), commandMetrics));
+                return true;
+            case PREFIX_COMMAND:
+                reply.append(handlePrefix(clientNumber, request.tokens(1)));
+                return true;
+            case FUZZY_COMMAND:
+                reply.append(handleFuzzy(clientNumber, request.tokens(1)));
+                return true;
+            case FIND_COMMAND:
+                reply.append(handleFind(clientNumber, request.tokens(1), commandMetrics));
+                return true;
+            case STATS_COMMAND:
+                reply.append(metrics.format()).append(LINE_TERMINATOR);
+                return true;
+            default:
+                break;
+        }
+
+        // Single commands are (command)>(word)>(definitions), with a blank for the definitions of search and delete
+        if (request.tokenCount() < 3) {
+            throw new IndexOutOfBoundsException("Request line has no definitions.");
+        }
+        String word = request.word(1);
+
+        // Every command operates on the dictionary shared by all client connections
+        switch (other) {
+            case ADD_COMMAND:
+                reply.append(succeeded(add(clientNumber, word, request.definitions(2)), commandMetrics)
+                             ? UPDATED_REPLY : ALREADY_EXISTS_REPLY);
+                return true;
+            case SEARCH_COMMAND:
+                byte[] cached = searchCached(clientNumber, word);
+                if (cached != null) {
+                    reply.share(cached);
+                    return true;
+                }
+                List<String> definitions = search(clientNumber, word);
+                if (definitions == null) {
+                    commandMetrics.failed();
+                    reply.append(SEARCH_MISSING_REPLY);
+                    return true;
+                }
+                // The store keeps each word's search reply encoded, so popular words are only encoded once
+                if (definitions instanceof Definitions) {
+                    byte[] encoded = ((Definitions) definitions).searchReply();
+                    cacheReply(word, definitions, encoded);
+                    reply.share(encoded);
+                } else {
+                    reply.appendJoined(definitions, SEMICOLON).append(LINE_TERMINATOR);
+                }
+                return true;
+            case UPDATE_COMMAND:
+                reply.append(succeeded(update(clientNumber, word, request.definitions(2)), commandMetrics)
+                             ? UPDATED_REPLY : UPDATE_MISSING_REPLY);
+                return true;
+            case DELETE_COMMAND:
+                reply.append(succeeded(delete(clientNumber, word), commandMetrics)
+                             ? UPDATED_REPLY : DELETE_MISSING_REPLY);
+                return true;
+            default:
+                commandMetrics.failed();
+                return false;
+        }
+    }
+
+    /***
+     * @return true if the status is OK, otherwise counts a failed operation and returns false
+     */
+    private static boolean succeeded(byte status, CommandMetrics commandMetrics) {
+        if (status != BinaryProtocol.OK) {
+            commandMetrics.failed();
+            return false;
+        }
+        return true;
+    }
+
+    private static List<String> toDefinitions(String message) {
+        return Arrays.asList(message.split(SEMICOLON_DELIMITER));
+    }
+
+    private static byte[] encode(String reply) {
+        return reply.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /***
+     * Carries out a batch command of the text protocol.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param command the batch command
+     * @param arguments the words, or alternating words and definitions, of the batch
+     * @param commandMetrics the metrics to count the failed items of the batch to
+     * @return the reply holding one result per item, including its line terminator
+     * @throws IOException if the batch's mutations cannot be persisted
+     */
+    private String handleBatch(int clientNumber, String command, List<String> arguments,
+                               CommandMetrics commandMetrics) throws IOException {
+
+        List<String> results = new ArrayList<>();
+
+        if (command.equals(BATCH_SEARCH_COMMAND)) {
+            for (String word : arguments) {
+                List<String> definitions = search(clientNumber, word.toLowerCase());
+                if (definitions == null) {
+                    commandMetrics.failed();
+                }
+                results.add(definitions != null
+                            ? statusText(BinaryProtocol.OK) + STATUS_DELIMITER +
+                              String.join(SEMICOLON_DELIMITER, definitions)
+                            : statusText(BinaryProtocol.NOT_FOUND));
+            }
+            return String.join(MESSAGE_DELIMITER, results) + "\n";
+        }
+
+        List<BatchMutation> mutations = new ArrayList<>();
+
+        if (command.equals(BATCH_DELETE_COMMAND)) {
+            for (String word : arguments) {
+                mutations.add(BatchMutation.delete(word.toLowerCase()));
+            }
+        } else {
+            for (int i = 0; i + 1 < arguments.size(); i += 2) {
+                String word = arguments.get(i).toLowerCase();
+                List<String> definitions = toDefinitions(arguments.get(i + 1));
+                mutations.add(command.equals(BATCH_ADD_COMMAND)
+                              ? BatchMutation.add(word, definitions)
+                              : BatchMutation.update(word, definitions));
+            }
+        }
+
+        for (byte status : applyAll(clientNumber, mutations)) {
+            succeeded(status, commandMetrics);
+            results.add(statusText(status));
+        }
+
+        // A word given without its definitions cannot be added or updated
+        if (!command.equals(BATCH_DELETE_COMMAND) && arguments.size() % 2 == 1) {
+            commandMetrics.failed();
+            results.add(statusText(BinaryProtocol.BAD_REQUEST));
+        }
+
+        return String.join(MESSAGE_DELIMITER, results) + "\n";
+    }
+
+    /***
+     * Carries out a prefix command of the text protocol.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param arguments the prefix, and optionally the maximum number of words and the first definition option
+     * @return the reply holding the words found, including its line terminator
+     */
+    private String handlePrefix(int clientNumber, List<String> arguments) {
+
+        String prefix = arguments.isEmpty() ? "" : arguments.get(0).toLowerCase();
+        int limit = arguments.size() > 1
+                    ? parseBounded(arguments.get(1), 1, MAX_PREFIX_LIMIT, DEFAULT_PREFIX_LIMIT)
+                    : DEFAULT_PREFIX_LIMIT;
+        boolean withDefinition = arguments.size() > 2 && arguments.get(2).equals(FIRST_DEFINITION_OPTION);
+
+        List<String> words = dictionary.wordsStartingWith(prefix, limit);
+        List<String> results = new ArrayList<>(words.size());
+
+        // Every definition is read from the same version of the dictionary
+        Map<String, List<String>> version = dictionary.version();
+
+        for (String word : words) {
+            if (!withDefinition) {
+                results.add(word);
+                continue;
+            }
+            // The word may have been deleted since it was found in the index
+            List<String> definitions = version.get(word);
+            if (definitions != null && !definitions.isEmpty()) {
+                results.add(word + STATUS_DELIMITER + definitions.get(0));
+            }
+        }
+
+        recordLog.log("Client "+ clientNumber +" to PREFIX: " + prefix + " -> " + results.size() +
+                              " word(s)");
+        return String.join(MESSAGE_DELIMITER, results) + "\n";
+    }
+
+    /***
+     * Carries out a fuzzy command of the text protocol.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param arguments the word, and optionally the maximum edit distance of the words found
+     * @return the reply holding the words found, including its line terminator
+     */
+    private String handleFuzzy(int clientNumber, List<String> arguments) {
+
+        String word = arguments.isEmpty() ? "" : arguments.get(0).toLowerCase();
+        int maxDistance = arguments.size() > 1
+                          ? parseBounded(arguments.get(1), 0, MAX_FUZZY_DISTANCE, DEFAULT_FUZZY_DISTANCE)
+                          : DEFAULT_FUZZY_DISTANCE;
+
+        List<String> words = dictionary.wordsCloseTo(word, maxDistance, FUZZY_LIMIT);
+
+        recordLog.log("Client "+ clientNumber +" to FUZZY: " + word + " -> " + words.size() +
+                              " word(s)");
+        return String.join(MESSAGE_DELIMITER, words) + "\n";
+    }
+
+    /***
+     * Carries out a find command of the text protocol.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param arguments the terms, and optionally the maximum number of words found
+     * @param commandMetrics the metrics to count a refused find in
+     * @return the reply holding the words found, including its line terminator
+     */
+    private String handleFind(int clientNumber, List<String> arguments, CommandMetrics commandMetrics) {
+
+        String query = arguments.isEmpty() ? "" : arguments.get(0);
+        int limit = arguments.size() > 1
+                    ? parseBounded(arguments.get(1), 1, MAX_FIND_LIMIT, DEFAULT_FIND_LIMIT)
+                    : DEFAULT_FIND_LIMIT;
+
+        List<String> words;
+        try {
+            words = dictionary.wordsDefinedBy(query, limit);
+        } catch (UnsupportedOperationException e) {
+            commandMetrics.failed();
+            recordLog.log("Client "+ clientNumber +" to FIND: " + query + ERROR_SUFFIX);
+            return FIND_UNAVAILABLE_REPLY;
+        }
+
+        recordLog.log("Client "+ clientNumber +" to FIND: " + query + " -> " + words.size() +
+                              " word(s)");
+        return String.join(MESSAGE_DELIMITER, words) + "\n";
+    }
+
+    /***
+     * @return the integer in the given String clamped between min and max, or the fallback if it is not an integer
+     */
+    private static int parseBounded(String value, int min, int max, int fallback) {
+        try {
+            return Math.min(Math.max(Integer.parseInt(value.trim()), min), max);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static String statusText(byte status) {
+        switch (status) {
+            case BinaryProtocol.OK:
+                return "OK";
+            case BinaryProtocol.NOT_FOUND:
+                return "NOT_FOUND";
+            case BinaryProtocol.ALREADY_EXISTS:
+                return "ALREADY_EXISTS";
+            case BinaryProtocol.BAD_REQUEST:
+                return "BAD_REQUEST";
+            default:
+                return "ERROR";
+        }
+    }
+
+    /***
+     * Carries out a single request frame of the binary protocol, or every command of a batch frame in order.
+     *
+     * @param clientNumber the number of the client that sent the request, for logging
+     * @param request the decoded request frame
+     * @return the reply to send back to the client
+     */
+    public BinaryReply handle(int clientNumber, BinaryRequest request) {
+
+        long start = System.nanoTime();
+        CommandMetrics commandMetrics = metrics.command(commandOf(request.getOpcode()));
+
+        try {
+            if (request.getOpcode() != BinaryProtocol.BATCH) {
+                BinaryReply reply = execute(clientNumber, request);
+                succeeded(reply.getStatus(), commandMetrics);
+                return reply;
+            }
+            return handleBinaryBatch(clientNumber, request, commandMetrics);
+        } finally {
+            commandMetrics.record(System.nanoTime() - start);
+        }
+    }
+
+    /***
+     * @return the name the requests with the given opcode are counted under
+     */
+    private static String commandOf(byte opcode) {
+        switch (opcode) {
+            case BinaryProtocol.ADD:
+                return ADD_COMMAND;
+            case BinaryProtocol.SEARCH:
+                return SEARCH_COMMAND;
+            case BinaryProtocol.UPDATE:
+                return UPDATE_COMMAND;
+            case BinaryProtocol.DELETE:
+                return DELETE_COMMAND;
+            case BinaryProtocol.BATCH:
+                return BINARY_BATCH_COMMAND;
+            default:
+                return UNKNOWN_COMMAND;
+        }
+    }
+
+    /***
+     * Carries out every command of a binary batch frame in order.
+     */
+    private BinaryReply handleBinaryBatch(int clientNumber, BinaryRequest request, CommandMetrics commandMetrics) {
+
+        // Consecutive mutations are applied together, so that they are persisted with a single write,
+        // while a search sees the result of every mutation before it in the batch
+        int requestId = request.getRequestId();
+        List<BinaryReply> items = new ArrayList<>(request.getItems().size());
+        List<BatchMutation> mutations = new ArrayList<>();
+
+        for (BinaryRequest item : request.getItems()) {
+            BatchMutation mutation = toMutation(item);
+            if (mutation != null) {
+                mutations.add(mutation);
+                continue;
+            }
+            applyPending(clientNumber, requestId, mutations, items);
+            items.add(execute(clientNumber, item.withRequestId(requestId)));
+        }
+        applyPending(clientNumber, requestId, mutations, items);
+
+        for (BinaryReply item : items) {
+            succeeded(item.getStatus(), commandMetrics);
+        }
+        return new BinaryReply(requestId, BinaryProtocol.OK, Collections.emptyList(), items);
+    }
+
+    /***
+     * @return the mutation a well-formed add, update or delete batch item stands for, or null for any other item
+     */
+    private static BatchMutation toMutation(BinaryRequest item) {
+        String word = item.getWord().toLowerCase();
+        switch (item.getOpcode()) {
+            case BinaryProtocol.ADD:
+                return word.isEmpty() || item.getDefinitions().isEmpty()
+                       ? null : BatchMutation.add(word, item.getDefinitions());
+            case BinaryProtocol.UPDATE:
+                return item.getDefinitions().isEmpty() ? null : BatchMutation.update(word, item.getDefinitions());
+            case BinaryProtocol.DELETE:
+                return BatchMutation.delete(word);
+            default:
+                return null;
+        }
+    }
+
+    private void applyPending(int clientNumber, int requestId, List<BatchMutation> mutations,
+                              List<BinaryReply> items) {
+        if (mutations.isEmpty()) {
+            return;
+        }
+        byte[] statuses;
+        try {
+            statuses = applyAll(clientNumber, mutations);
+        } catch (IOException e) {
+            recordLog.log("Error writing to the dictionary.");
+            statuses = new byte[mutations.size()];
+            Arrays.fill(statuses, BinaryProtocol.SERVER_ERROR);
+        }
+        for (byte status : statuses) {
+            items.add(BinaryReply.of(requestId, status, Collections.emptyList()));
+        }
+        mutations.clear();
+    }
+
+    /***
+     * Carries out a single command of the binary protocol. Failures are reported through the reply's status,
+     * so that one failed command does not abort the others of a batch.
+     */
+    private BinaryReply execute(int clientNumber, BinaryRequest request) {
+
+        int requestId = request.getRequestId();
+        String word = request.getWord().toLowerCase();
+        List<String> definitions = request.getDefinitions();
+
+        try {
+            switch (request.getOpcode()) {
+                case BinaryProtocol.ADD:
+                    if (word.isEmpty() || definitions.isEmpty()) break;
+                    return BinaryReply.of(requestId, add(clientNumber, word, definitions), Collections.emptyList());
+                case BinaryProtocol.SEARCH:
+                    List<String> found = search(clientNumber, word);
+                    return found != null
+                           ? BinaryReply.of(requestId, BinaryProtocol.OK, found)
+                           : BinaryReply.of(requestId, BinaryProtocol.NOT_FOUND, Collections.emptyList());
+                case BinaryProtocol.UPDATE:
+                    if (definitions.isEmpty()) break;
+                    return BinaryReply.of(requestId, update(clientNumber, word, definitions),
+                                          Collections.emptyList());
+                case BinaryProtocol.DELETE:
+                    return BinaryReply.of(requestId, delete(clientNumber, word), Collections.emptyList());
+                default:
+                    break;
+            }
+        } catch (IOException e) {
+            recordLog.log("Error writing to the dictionary.");
+            return BinaryReply.of(requestId, BinaryProtocol.SERVER_ERROR, Collections.emptyList());
+        }
+
+        return BinaryReply.of(requestId, BinaryProtocol.BAD_REQUEST, Collections.emptyList());
+    }
+
+    /***
+     * Applies a batch of mutations to the internal dictionary, persisting them with a single write.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param mutations the mutations to apply, in order
+     * @return the status of each mutation: OK, or ALREADY_EXISTS (add) or NOT_FOUND (update, delete)
+     * @throws IOException if the mutations cannot be persisted
+     */
+    private byte[] applyAll(int clientNumber, List<BatchMutation> mutations) throws IOException {
+
+        boolean[] applied = dictionary.applyAll(mutations);
+        byte[] statuses = new byte[mutations.size()];
+
+        for (int i = 0; i < mutations.size(); i++) {
+            BatchMutation mutation = mutations.get(i);
+            recordLog.log("Client "+ clientNumber +" to " + mutation.getKind() + ": " + mutation.getWord() +
+                                  (applied[i] ? SUCCESS_SUFFIX : ERROR_SUFFIX));
+            statuses[i] = applied[i] ? BinaryProtocol.OK
+                          : mutation.getKind() == BatchMutation.Kind.ADD ? BinaryProtocol.ALREADY_EXISTS
+                          : BinaryProtocol.NOT_FOUND;
+        }
+        return statuses;
+    }
+
+    /***
+     * Adds a word to the dictionary in the internal server memory, unless the word already exists.
+     *
+     * The mutation is durable in the dictionary's log once this method returns.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param word String containing the word to be added
+     * @param definitions List of String definitions of the word
+     * @return OK if the word was added, ALREADY_EXISTS otherwise
+     * @throws IOException if the mutation cannot be persisted
+     */
+    private byte add(int clientNumber, String word, List<String> definitions) throws IOException {
+
+        if (!dictionary.add(word, definitions)) {
+            recordLog.log("Client "+ clientNumber +" to ADD: " + word + ERROR_SUFFIX);
+            return BinaryProtocol.ALREADY_EXISTS;
+        }
+
+        recordLog.log("Client "+ clientNumber +" to ADD: " + word + SUCCESS_SUFFIX);
+        return BinaryProtocol.OK;
+    }
+
+    /***
+     * Searches for a word and its definitions in the internal dictionary.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param word String containing the word to be searched for
+     * @return the word's definitions, or null if the word does not exist
+     */
+    private List<String> search(int clientNumber, String word) {
+
+        List<String> definitions = dictionary.search(word);
+
+        if (definitions == null) {
+            recordLog.log("Client "+ clientNumber +" to SEARCH: " + word + ERROR_SUFFIX);
+            return null;
+        }
+
+        recordLog.log("Client "+ clientNumber +" to SEARCH: " + word + SUCCESS_SUFFIX);
+        return definitions;
+    }
+
+    /***
+     * Looks up the encoded search reply of a word in the reply cache.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param word String containing the word to be searched for
+     * @return the word's encoded search reply, or null if it is not cached
+     */
+    private byte[] searchCached(int clientNumber, String word) {
+
+        byte[] reply = replyCache != null ? replyCache.get(word) : null;
+
+        if (reply != null) {
+            recordLog.log("Client "+ clientNumber +" to SEARCH: " + word + SUCCESS_SUFFIX);
+        }
+        return reply;
+    }
+
+    /***
+     * Caches the encoded search reply of a word found in the dictionary.
+     *
+     * The word may have been updated or deleted since it was searched for, and its reply dropped from the cache
+     * before being cached here, so the reply is only cached if the word still has the same definitions. Any later
+     * change drops the reply itself.
+     *
+     * @param word String containing the word searched for
+     * @param definitions the definitions the word was found with
+     * @param reply the encoded search reply of the definitions
+     */
+    private void cacheReply(String word, List<String> definitions, byte[] reply) {
+        if (replyCache != null) {
+            replyCache.put(word, reply, () -> dictionary.get(word) == definitions);
+        }
+    }
+
+    /***
+     * Replaces a word's definitions in the internal dictionary, if the word exists.
+     *
+     * The mutation is durable in the dictionary's log once this method returns.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param word String containing the word to be updated
+     * @param definitions List of String definitions to replace the existing ones
+     * @return OK if the word was updated, NOT_FOUND otherwise
+     * @throws IOException if the mutation cannot be persisted
+     */
+    private byte update(int clientNumber, String word, List<String> definitions) throws IOException {
+
+        if (!dictionary.update(word, definitions)) {
+            recordLog.log("Client "+ clientNumber +" to UPDATE: " + word + ERROR_SUFFIX);
+            return BinaryProtocol.NOT_FOUND;
+        }
+
+        recordLog.log("Client "+ clientNumber +" to UPDATE: " + word + SUCCESS_SUFFIX);
+        return BinaryProtocol.OK;
+    }
+
+    /***
+     * Deletes a word from the internal dictionary, if the word exists.
+     *
+     * The mutation is durable in the dictionary's log once this method returns.
+     *
+     * @param clientNumber the number of the client that sent the request
+     * @param word String containing the word to be deleted
+     * @return OK if the word was deleted, NOT_FOUND otherwise
+     * @throws IOException if the mutation cannot be persisted
+     */
+    private byte delete(int clientNumber, String word) throws IOException {
+
+        if (!dictionary.delete(word)) {
+            recordLog.log("Client "+ clientNumber +" to DELETE: " + word + ERROR_SUFFIX);
+            return BinaryProtocol.NOT_FOUND;
+        }
+
+        recordLog.log("Client "+ clientNumber +" to DELETE: " + word + SUCCESS_SUFFIX);
+        return BinaryProtocol.OK;
+    }
+}
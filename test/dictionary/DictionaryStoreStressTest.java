@@ -0,0 +1,214 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import server.RecordLog;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/***
+ * Stress tests of the store's striped mutation locks: concurrent single-word and batched mutations of a small set
+ * of words must leave the dictionary, its indexes and its mutation log in agreement, and batches locking many
+ * stripes must never deadlock.
+ */
+class DictionaryStoreStressTest {
+
+    private static final String DICTIONARY_FILE = "stress.csv";
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 4000;
+    private static final int WORDS = 64;
+    private static final int MAX_BATCH = 8;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    @TempDir
+    Path root;
+
+    private String previousRoot;
+    private RecordLog recordLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        previousRoot = System.getProperty("user.dir");
+        System.setProperty("user.dir", root.toString());
+        Files.createFile(root.resolve(DICTIONARY_FILE));
+        recordLog = new RecordLog("", RecordLog.DEFAULT_BUFFER_CAPACITY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordLog.close();
+        System.setProperty("user.dir", previousRoot);
+    }
+
+    private static PersistenceSettings settings() {
+        PersistenceSettings settings = new PersistenceSettings();
+        settings.setDurabilityMode(DurabilityMode.BUFFERED);
+        // Small enough for the log to be compacted several times while the mutations run
+        settings.setCompactionThreshold(64 * 1024);
+        return settings;
+    }
+
+    @Test
+    void concurrentMutationsMatchTheReplayedLog() throws Exception {
+        DictionaryStore store = new DictionaryStore(recordLog, DICTIONARY_FILE, settings());
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int seed = t;
+            results.add(workers.submit(() -> {
+                mutate(store, new Random(seed));
+                return null;
+            }));
+        }
+        awaitWorkers(workers, results);
+
+        Map<String, List<String>> expected = new HashMap<>(store.version());
+
+        // The indexes are kept in step with the dictionary under the same locks
+        List<String> words = new ArrayList<>(expected.keySet());
+        Collections.sort(words);
+        assertEquals(words, store.wordsStartingWith("", Integer.MAX_VALUE));
+
+        store.close();
+
+        // Replaying the log over the CSV file it was last compacted into gives back the same dictionary
+        Map<String, List<String>> replayed = store.readCSVToHashMap(DICTIONARY_FILE);
+        MutationLog log = new MutationLog(DICTIONARY_FILE);
+        log.recover(replayed);
+        log.close();
+        assertEquals(expected, replayed);
+
+        // And so does reopening the store
+        DictionaryStore reopened = new DictionaryStore(recordLog, DICTIONARY_FILE, settings());
+        assertEquals(expected, new HashMap<>(reopened.version()));
+        reopened.close();
+    }
+
+    @Test
+    void batchesInOppositeOrdersDoNotDeadlock() throws Exception {
+        DictionaryStore store = new DictionaryStore(recordLog, DICTIONARY_FILE, settings());
+
+        // Words on as many different stripes as possible, so that every batch locks many of them
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            words.add("word" + i);
+            store.add("word" + i, List.of("definition"));
+        }
+        List<String> reversed = new ArrayList<>(words);
+        Collections.reverse(reversed);
+
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            List<String> order = t % 2 == 0 ? words : reversed;
+            results.add(workers.submit(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD / 4; i++) {
+                    List<BatchMutation> batch = new ArrayList<>();
+                    for (String word : order) {
+                        batch.add(BatchMutation.update(word, List.of("definition " + i)));
+                    }
+                    boolean[] applied = store.applyAll(batch);
+                    boolean[] all = new boolean[applied.length];
+                    Arrays.fill(all, true);
+                    assertArrayEquals(all, applied);
+                }
+                return null;
+            }));
+        }
+        awaitWorkers(workers, results);
+
+        assertEquals(words.size(), store.size());
+        store.close();
+    }
+
+    /***
+     * Runs random adds, updates, deletes and batches over the shared words.
+     */
+    private static void mutate(DictionaryStore store, Random random) throws IOException {
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            String word = "word" + random.nextInt(WORDS);
+            List<String> definitions = List.of("definition " + random.nextInt(1000));
+            switch (random.nextInt(4)) {
+                case 0:
+                    store.add(word, definitions);
+                    break;
+                case 1:
+                    store.update(word, definitions);
+                    break;
+                case 2:
+                    store.delete(word);
+                    break;
+                default:
+                    store.applyAll(randomBatch(random));
+                    break;
+            }
+        }
+    }
+
+    private static List<BatchMutation> randomBatch(Random random) {
+        List<BatchMutation> batch = new ArrayList<>();
+        int size = 1 + random.nextInt(MAX_BATCH);
+        for (int i = 0; i < size; i++) {
+            String word = "word" + random.nextInt(WORDS);
+            List<String> definitions = List.of("batched " + random.nextInt(1000));
+            switch (random.nextInt(3)) {
+                case 0:
+                    batch.add(BatchMutation.add(word, definitions));
+                    break;
+                case 1:
+                    batch.add(BatchMutation.update(word, definitions));
+                    break;
+                default:
+                    batch.add(BatchMutation.delete(word));
+                    break;
+            }
+        }
+        return batch;
+    }
+
+    /***
+     * Waits for every worker, failing with the deadlocked threads if they do not all finish in time.
+     */
+    private static void awaitWorkers(ExecutorService workers, List<Future<?>> results) throws Exception {
+        workers.shutdown();
+        if (!workers.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            long[] deadlocked = ManagementFactory.getThreadMXBean().findDeadlockedThreads();
+            workers.shutdownNow();
+            fail(deadlocked == null
+                 ? "Workers did not finish in " + TIMEOUT_SECONDS + "s"
+                 : deadlocked.length + " worker thread(s) deadlocked");
+        }
+        for (Future<?> result : results) {
+            // Rethrows any assertion or exception of the worker
+            result.get();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/***
+ * Tests of the persistent hash trie against a HashMap holding the same entries, with keys chosen so that their
+ * hashes collide in full (collision nodes) or share the buckets of many levels (deep bitmap nodes).
+ */
+class HashTrieTest {
+
+    /***
+     * Key with a chosen hash code, equal to another key only if their names are equal.
+     */
+    private static final class Key {
+
+        private final String name;
+        private final int hash;
+
+        Key(String name, int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return name + "#" + Integer.toHexString(hash);
+        }
+    }
+
+    /***
+     * @return the i-th of a set of keys whose hashes are either shared by 8 keys in full, or once spread by the
+     *         trie share their lowest 25 bits with many other keys, so that every kind of node is made
+     */
+    private static Key key(int i) {
+        int spread = i % 3 == 0
+                     ? i / 24
+                     : (i % 32) | ((i / 32) << 25);
+        // The trie spreads a hash h into h ^ (h >>> 16), which is its own inverse
+        return new Key("k" + i, spread ^ (spread >>> 16));
+    }
+
+    @Test
+    void putAndRemoveUnderCollisionsMatchAHashMap() {
+        Random random = new Random(1);
+        Map<Key, Integer> expected = new HashMap<>();
+        HashTrie<Key, Integer> trie = HashTrie.empty();
+
+        for (int i = 0; i < 20000; i++) {
+            Key key = key(random.nextInt(600));
+            if (random.nextInt(3) == 0) {
+                trie = trie.without(key);
+                expected.remove(key);
+            } else {
+                trie = trie.with(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.get(key), trie.get(key));
+            assertEquals(expected.size(), trie.size());
+        }
+        assertEquals(expected, trie);
+        assertEquals(expected, new HashMap<>(trie));
+
+        // Removing every key leaves an empty trie, whatever the order
+        List<Key> keys = new ArrayList<>(expected.keySet());
+        for (Key key : keys) {
+            trie = trie.without(key);
+        }
+        assertEquals(0, trie.size());
+        assertEquals(0, trie.entrySet().size());
+    }
+
+    @Test
+    void unchangedWritesReturnTheSameVersion() {
+        HashTrie<Key, Integer> trie = HashTrie.<Key, Integer>empty().with(key(0), 1).with(key(3), 2);
+        Integer same = trie.get(key(0));
+
+        assertSame(trie, trie.with(key(0), same));
+        assertSame(trie, trie.without(key(6)));
+        assertSame(trie, trie.without(new Key("missing", key(0).hashCode())));
+    }
+
+    @Test
+    void oldVersionsAreUnchangedByLaterWrites() {
+        Random random = new Random(2);
+        List<HashTrie<Key, Integer>> versions = new ArrayList<>();
+        List<Map<Key, Integer>> snapshots = new ArrayList<>();
+        Map<Key, Integer> expected = new HashMap<>();
+        HashTrie<Key, Integer> trie = HashTrie.empty();
+
+        for (int i = 0; i < 3000; i++) {
+            Key key = key(random.nextInt(300));
+            if (random.nextInt(3) == 0) {
+                trie = trie.without(key);
+                expected.remove(key);
+            } else {
+                trie = trie.with(key, i);
+                expected.put(key, i);
+            }
+            if (i % 50 == 0) {
+                versions.add(trie);
+                snapshots.add(new HashMap<>(expected));
+            }
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(snapshots.get(i), versions.get(i), "version " + i);
+            assertEquals(snapshots.get(i).size(), versions.get(i).size(), "size of version " + i);
+        }
+    }
+
+    @Test
+    void builderIsIsolatedFromTheTriesItBuilt() {
+        HashTrie<Key, Integer> base = HashTrie.empty();
+        for (int i = 0; i < 500; i++) {
+            base = base.with(key(i), i);
+        }
+        Map<Key, Integer> baseEntries = new HashMap<>(base);
+
+        // A builder started from a trie changes its own copies of the trie's nodes
+        HashTrie.Builder<Key, Integer> builder = base.toBuilder();
+        for (int i = 0; i < 500; i += 2) {
+            builder.remove(key(i));
+        }
+        for (int i = 500; i < 1000; i++) {
+            builder.put(key(i), i);
+        }
+        assertEquals(baseEntries, base);
+
+        HashTrie<Key, Integer> built = builder.build();
+        Map<Key, Integer> builtEntries = new HashMap<>(built);
+        assertEquals(750, built.size());
+
+        // Once built, the trie is frozen: the builder's later changes copy the nodes the trie shares
+        for (int i = 1; i < 1000; i += 2) {
+            builder.put(key(i), -i);
+        }
+        for (int i = 500; i < 1000; i += 2) {
+            builder.remove(key(i));
+        }
+        assertEquals(builtEntries, built);
+        assertEquals(750, built.size());
+        assertEquals(baseEntries, base);
+
+        // And the trie's own new versions leave the builder alone
+        Map<Key, Integer> builderEntries = new HashMap<>(builder);
+        built.with(key(2000), 2000).without(key(1));
+        assertEquals(builderEntries, builder);
+        assertNull(builder.get(key(2000)));
+    }
+
+    @Test
+    void parallelBuildKeepsTheLastValueOfEachKey() {
+        Random random = new Random(3);
+        Map<Key, Integer> expected = new HashMap<>();
+        List<HashTrie.Buckets<Key, Integer>> chunks = new ArrayList<>();
+
+        // Keys repeat within and across chunks, as when a dictionary file defines a word more than once
+        for (int chunk = 0; chunk < 8; chunk++) {
+            HashTrie.Buckets<Key, Integer> buckets = new HashTrie.Buckets<>();
+            for (int i = 0; i < 5000; i++) {
+                Key key = key(random.nextInt(4000));
+                int value = chunk * 5000 + i;
+                buckets.add(key, value);
+                expected.put(key, value);
+            }
+            chunks.add(buckets);
+        }
+
+        HashTrie<Key, Integer> built = HashTrie.build(chunks);
+        assertEquals(expected.size(), built.size());
+        assertEquals(expected, built);
+
+        // The built trie takes further writes like any other
+        Key first = expected.keySet().iterator().next();
+        HashTrie<Key, Integer> changed = built.without(first).with(key(9999), 1);
+        assertEquals(expected.size(), changed.size());
+        assertEquals(expected.get(first), built.get(first));
+        assertNull(changed.get(first));
+    }
+
+    @Test
+    void parallelBuildOfNoEntriesIsEmpty() {
+        List<HashTrie.Buckets<Key, Integer>> chunks = new ArrayList<>();
+        chunks.add(new HashTrie.Buckets<>());
+        assertSame(HashTrie.empty(), HashTrie.build(chunks));
+    }
+}
@@ -0,0 +1,219 @@
+/***
+ * Student Name: Mahardini Rizky Putri
+ * Student ID: 921790
+ * Date Created: 18 October 2026
+ */
+
+package dictionary;
+
+import metrics.CacheMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/***
+ * Tests of the W-TinyLFU cache's size accounting, eviction and admission, with every entry weighing the length
+ * of its value.
+ */
+class TinyLfuCacheTest {
+
+    // The weight of an entry the cache's frequency sketch is sized for
+    private static final int ENTRY_WEIGHT = 64;
+
+    private static TinyLfuCache<String, String> cache(long maximumWeight) {
+        return new TinyLfuCache<>(maximumWeight, (key, value) -> value.length(), new CacheMetrics());
+    }
+
+    private static String value(int weight) {
+        return "x".repeat(weight);
+    }
+
+    @Test
+    void replacingAndInvalidatingAnEntryKeepsItsWeight() {
+        TinyLfuCache<String, String> cache = cache(10_000);
+        CacheMetrics metrics = cache.getMetrics();
+
+        cache.put("word", value(100));
+        assertEquals(1, metrics.getEntries());
+        assertEquals(100, metrics.getBytes());
+
+        cache.put("word", value(300));
+        assertEquals(value(300), cache.get("word"));
+        assertEquals(1, metrics.getEntries());
+        assertEquals(300, metrics.getBytes());
+
+        cache.invalidate("word");
+        assertNull(cache.get("word"));
+        assertEquals(0, metrics.getEntries());
+        assertEquals(0, metrics.getBytes());
+    }
+
+    @Test
+    void entriesHeavierThanTheCacheOrNoLongerCurrentAreNotCached() {
+        TinyLfuCache<String, String> cache = cache(1000);
+
+        cache.put("huge", value(1001));
+        assertNull(cache.get("huge"));
+
+        cache.put("word", value(10));
+        cache.put("word", value(20), () -> false);
+        assertNull(cache.get("word"));
+        assertEquals(0, cache.getMetrics().getBytes());
+
+        TinyLfuCache<String, String> disabled = cache(0);
+        disabled.put("word", value(1));
+        assertNull(disabled.get("word"));
+    }
+
+    @Test
+    void totalWeightStaysWithinTheMaximum() {
+        long maximumWeight = 5000;
+        TinyLfuCache<String, String> cache = cache(maximumWeight);
+        CacheMetrics metrics = cache.getMetrics();
+        Random random = new Random(1);
+
+        int keys = 2000;
+        for (int i = 0; i < 50_000; i++) {
+            String key = "k" + random.nextInt(keys);
+            if (random.nextInt(10) == 0) {
+                cache.invalidate(key);
+            } else if (cache.get(key) == null) {
+                cache.put(key, value(1 + random.nextInt(200)));
+            }
+            assertTrue(metrics.getBytes() <= maximumWeight, "weight " + metrics.getBytes());
+        }
+
+        // The weight and number of entries reported are those of the entries still cached
+        long bytes = 0;
+        long entries = 0;
+        for (int i = 0; i < keys; i++) {
+            String cached = cache.get("k" + i);
+            if (cached != null) {
+                bytes += cached.length();
+                entries++;
+            }
+        }
+        assertEquals(entries, metrics.getEntries());
+        assertEquals(bytes, metrics.getBytes());
+    }
+
+    @Test
+    void concurrentWritesAreAccountedOnceReplayed() throws Exception {
+        long maximumWeight = 5000;
+        TinyLfuCache<String, String> cache = cache(maximumWeight);
+        CacheMetrics metrics = cache.getMetrics();
+        int keys = 500;
+
+        ExecutorService workers = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Random random = new Random(t);
+            results.add(workers.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    String key = "k" + random.nextInt(keys);
+                    if (random.nextInt(50) == 0) {
+                        cache.invalidate(key);
+                    } else if (cache.get(key) == null) {
+                        cache.put(key, value(1 + random.nextInt(200)));
+                    }
+                }
+                return null;
+            }));
+        }
+        workers.shutdown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        // An invalidation replays every buffered write before removing its key
+        cache.invalidate("none");
+        long bytes = 0;
+        long entries = 0;
+        for (int i = 0; i < keys; i++) {
+            String cached = cache.get("k" + i);
+            if (cached != null) {
+                bytes += cached.length();
+                entries++;
+            }
+        }
+        assertTrue(bytes <= maximumWeight, "weight " + bytes);
+        assertEquals(entries, metrics.getEntries());
+        assertEquals(bytes, metrics.getBytes());
+    }
+
+    @Test
+    void everyDistinctEntryIsEitherCachedOrEvicted() {
+        TinyLfuCache<String, String> cache = cache(1000);
+        CacheMetrics metrics = cache.getMetrics();
+
+        int puts = 500;
+        for (int i = 0; i < puts; i++) {
+            cache.put("k" + i, value(10));
+        }
+        assertTrue(metrics.getEntries() <= 100);
+        assertEquals(puts, metrics.getEntries() + metrics.getEvictions());
+    }
+
+    @Test
+    void popularEntriesSurviveAScanOfEntriesReadOnce() {
+        // 100 entries of the weight the sketch is sized for: a window of 1 entry, and a main space of 99
+        TinyLfuCache<String, String> cache = cache(100 * ENTRY_WEIGHT);
+
+        // More popular keys than the protected segment holds, so that some of them stay on probation
+        int hotKeys = 90;
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < hotKeys; i++) {
+                request(cache, "hot" + i);
+            }
+        }
+
+        // The popular keys are still requested during the scan, but an LRU cache of 100 entries would be left
+        // holding mostly keys of the scan, each requested only once
+        for (int i = 0; i < 10_000; i++) {
+            request(cache, "scan" + i);
+            if (i % 4 == 0) {
+                request(cache, "hot" + (i / 4) % hotKeys);
+            }
+        }
+
+        for (int i = 0; i < hotKeys; i++) {
+            assertNotNull(cache.get("hot" + i), "hot" + i + " was evicted by the scan");
+        }
+    }
+
+    @Test
+    void newlyPopularEntriesAreAdmitted() {
+        TinyLfuCache<String, String> cache = cache(100 * ENTRY_WEIGHT);
+        for (int i = 0; i < 200; i++) {
+            request(cache, "cold" + i);
+        }
+
+        // A key requested more often than the entries it would evict displaces them
+        for (int i = 0; i < 10; i++) {
+            request(cache, "rising");
+        }
+        for (int i = 0; i < 10; i++) {
+            request(cache, "filler" + i);
+        }
+        assertNotNull(cache.get("rising"));
+    }
+
+    /***
+     * Requests a key as the server does: read from the cache, and cached if it was missing.
+     */
+    private static void request(TinyLfuCache<String, String> cache, String key) {
+        if (cache.get(key) == null) {
+            cache.put(key, value(ENTRY_WEIGHT));
+        }
+    }
+}